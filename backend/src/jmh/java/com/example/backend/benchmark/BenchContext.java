@@ -0,0 +1,41 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Boots the real application once per forked JVM against the "bench" profile
+// (in-memory H2, see src/jmh/resources/application-bench.properties).
+// Benchmarks that need Postgres-only SQL add the "bench-postgres" profile.
+public final class BenchContext {
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchContext() {
+    }
+
+    public static ConfigurableApplicationContext get() {
+        return get("bench");
+    }
+
+    public static synchronized ConfigurableApplicationContext get(String... profiles) {
+        if (context == null) {
+            context = new SpringApplicationBuilder(BackendApplication.class)
+                    .profiles(profiles)
+                    .logStartupInfo(false)
+                    .run();
+        }
+        return context;
+    }
+
+    public static <T> T bean(Class<T> type) {
+        return get().getBean(type);
+    }
+
+    public static synchronized void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+}
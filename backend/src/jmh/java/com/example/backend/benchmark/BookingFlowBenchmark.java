@@ -0,0 +1,104 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.entity.Bookings;
+import com.example.backend.entity.Events;
+import com.example.backend.entity.User;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.BookingService;
+import com.example.backend.service.QrGeneratorService;
+import com.example.backend.service.TicketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Service-level hot paths against the in-memory "bench" datastore.
+// Check-in uses Postgres-only SQL and lives in CheckInBenchmark.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingFlowBenchmark {
+
+    private static final int STATUS_TICKETS = 2000;
+    private static final int TICKETS_PER_QR_BOOKING = 10;
+
+    private BookingService bookingService;
+    private QrGeneratorService qrGeneratorService;
+    private TicketService ticketService;
+    private BookingRepository bookingRepository;
+
+    private User user;
+    private Events unlimitedEvent;
+    private Events limitedEvent;
+    private Long statusBookingId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookingService = BenchContext.bean(BookingService.class);
+        qrGeneratorService = BenchContext.bean(QrGeneratorService.class);
+        ticketService = BenchContext.bean(TicketService.class);
+        bookingRepository = BenchContext.bean(BookingRepository.class);
+        EventRepository eventRepository = BenchContext.bean(EventRepository.class);
+
+        user = Fixtures.saveUser(BenchContext.bean(UserRepository.class), "Bench Fan");
+        unlimitedEvent = Fixtures.saveEvent(eventRepository, null);
+        limitedEvent = Fixtures.saveEvent(eventRepository, Integer.MAX_VALUE / 2);
+
+        statusBookingId = newBooking(STATUS_TICKETS);
+        qrGeneratorService.generateTicketsForBooking(statusBookingId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchContext.close();
+    }
+
+    @State(Scope.Thread)
+    public static class PendingBooking {
+        Long bookingId;
+
+        @Setup(Level.Invocation)
+        public void create(BookingFlowBenchmark bench) {
+            bookingId = bench.newBooking(TICKETS_PER_QR_BOOKING);
+        }
+    }
+
+    @Benchmark
+    public String bookUnlimitedEvent() {
+        return bookingService.bookEvent(user.getId(), unlimitedEvent.getId(), 2);
+    }
+
+    @Benchmark
+    public String bookCapacityLimitedEvent() {
+        return bookingService.bookEvent(user.getId(), limitedEvent.getId(), 2);
+    }
+
+    @Benchmark
+    public List<String> generateTickets(PendingBooking pending) {
+        return qrGeneratorService.generateTicketsForBooking(pending.bookingId);
+    }
+
+    @Benchmark
+    public Map<String, Object> ticketStatus() {
+        return ticketService.getTicketStatus(statusBookingId);
+    }
+
+    private Long newBooking(int ticketCount) {
+        Bookings booking = new Bookings();
+        booking.setUser(user);
+        booking.setEvent(unlimitedEvent);
+        booking.setTotalTickets(ticketCount);
+        return bookingRepository.save(booking).getId();
+    }
+}
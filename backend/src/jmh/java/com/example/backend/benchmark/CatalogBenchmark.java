@@ -0,0 +1,81 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.entity.Events;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Public catalog reads (/api/events, /api/events/page/{n}, cursor listing, /api/events/{id})
+// with the event cache on and off; each value runs in its own fork.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatalogBenchmark {
+
+    @Param({"true", "false"})
+    public String cache;
+
+    private EventService eventService;
+    private Long eventId;
+    private String deepCursor;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("events.cache.enabled", cache);
+        eventService = BenchContext.bean(EventService.class);
+
+        EventRepository eventRepository = BenchContext.bean(EventRepository.class);
+        for (int i = 0; i < 200; i++) {
+            eventId = Fixtures.saveEvent(eventRepository, 500).getId();
+        }
+
+        // Cursor to the same position as page 20 of 8
+        String cursor = null;
+        for (int page = 1; page < 20; page++) {
+            cursor = (String) eventService.getEventsAfter(cursor, 8, false).get("nextCursor");
+        }
+        deepCursor = cursor;
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchContext.close();
+        System.clearProperty("events.cache.enabled");
+    }
+
+    @Benchmark
+    public List<Events> allEvents() {
+        return eventService.getAllEvents();
+    }
+
+    @Benchmark
+    public Object firstPage() {
+        return eventService.getEventsPage(1, 8);
+    }
+
+    @Benchmark
+    public Object deepPage() {
+        return eventService.getEventsPage(20, 8);
+    }
+
+    @Benchmark
+    public Object deepCursor() {
+        return eventService.getEventsAfter(deepCursor, 8, false);
+    }
+
+    @Benchmark
+    public Events eventById() {
+        return eventService.getEventById(eventId);
+    }
+}
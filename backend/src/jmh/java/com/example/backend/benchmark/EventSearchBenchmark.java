@@ -0,0 +1,61 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.entity.Events;
+import com.example.backend.service.EventSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// /api/events/search on a synthetic catalog; no Spring context needed
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "rock", "jazz", "night", "live", "festival", "sunburn", "comedy", "acoustic",
+            "orchestra", "arena", "stadium", "club", "tour", "summer", "winter", "beats"
+    };
+    private static final String[] CITIES = {"Mumbai", "Pune", "Delhi", "Goa", "Bengaluru", "Chennai"};
+
+    @Param({"1000", "20000"})
+    public int events;
+
+    private EventSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new EventSearchIndex();
+        for (int i = 1; i <= events; i++) {
+            Events event = Fixtures.event(i, 500);
+            event.setName(WORDS[i % WORDS.length] + " " + WORDS[(i / 7) % WORDS.length] + " " + i);
+            event.setArtist("Artist " + WORDS[(i / 3) % WORDS.length] + i % 500);
+            event.setLocation(CITIES[i % CITIES.length]);
+            index.add(event);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> singlePrefix() {
+        return index.search("ro", 10);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> twoWords() {
+        return index.search("jazz ni", 10);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> city() {
+        return index.search("goa", 10);
+    }
+}
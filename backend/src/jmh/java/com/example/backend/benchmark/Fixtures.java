@@ -0,0 +1,77 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.entity.Bookings;
+import com.example.backend.entity.Events;
+import com.example.backend.entity.Role;
+import com.example.backend.entity.Tickets;
+import com.example.backend.entity.User;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Test data shared by the benchmarks
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static User saveUser(UserRepository userRepository, String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + System.nanoTime() + "@bench.local");
+        user.setPassword("not-used");
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+
+    public static Events saveEvent(EventRepository eventRepository, Integer capacity) {
+        return eventRepository.save(event(0L, capacity));
+    }
+
+    public static Events event(long id, Integer capacity) {
+        Events event = new Events();
+        if (id > 0) {
+            event.setId(id);
+        }
+        event.setName("Benchmark Night " + id);
+        event.setArtist("The Profilers");
+        event.setLocation("Stadium " + (id % 10));
+        event.setDate("2026-12-" + String.format("%02d", 1 + id % 28));
+        event.setTime("20:00");
+        event.setStartsAt(LocalDateTime.of(2026, 12, (int) (1 + id % 28), 20, 0));
+        event.setImageUrl("/uploads/events/default-event.jpg");
+        event.setCapacity(capacity);
+        event.setRemaining(capacity);
+        return event;
+    }
+
+    // Detached booking graph with tickets, for serialization benchmarks
+    public static Bookings booking(long id, Events event, User user, int ticketCount) {
+        Bookings booking = new Bookings();
+        booking.setId(id);
+        booking.setEvent(event);
+        booking.setUser(user);
+        booking.setTotalTickets(ticketCount);
+        booking.setQrGenerated(true);
+
+        List<Tickets> tickets = new ArrayList<>();
+        for (int i = 1; i <= ticketCount; i++) {
+            Tickets ticket = new Tickets();
+            ticket.setId(id * 100 + i);
+            ticket.setBooking(booking);
+            ticket.setEvent(event);
+            ticket.setTicketNumber(i);
+            ticket.setQrCode(id + "|" + event.getId() + "|" + i + "|" + user.getName() + "|bench");
+            if (i % 2 == 0) {
+                ticket.setCheckedIn(true);
+                ticket.setCheckedInAt(LocalDateTime.of(2026, 12, 1, 19, 30));
+            }
+            tickets.add(ticket);
+        }
+        booking.setTickets(tickets);
+        return booking;
+    }
+}
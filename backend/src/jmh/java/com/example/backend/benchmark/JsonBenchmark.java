@@ -0,0 +1,81 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.BookingSummary;
+import com.example.backend.entity.Bookings;
+import com.example.backend.entity.Events;
+import com.example.backend.entity.Role;
+import com.example.backend.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response bodies of /api/events and /api/booking/mybookings, using the app's ObjectMapper
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmark {
+
+    @Param({"8", "200"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Events> events;
+    private List<Bookings> bookings;
+    private List<BookingSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchContext.bean(ObjectMapper.class);
+
+        User user = new User();
+        user.setId(1L);
+        user.setName("Priya Sharma");
+        user.setEmail("priya@bench.local");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        user.setRole(Role.USER);
+
+        events = new ArrayList<>();
+        bookings = new ArrayList<>();
+        summaries = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            Events event = Fixtures.event(i, 500);
+            events.add(event);
+            bookings.add(Fixtures.booking(i, event, user, 4));
+            summaries.add(new BookingSummary((long) i, 4, true, 2L, event.getId(), event.getName(),
+                    event.getArtist(), event.getLocation(), event.getDate(), event.getTime(),
+                    event.getStartsAt(), event.getImageUrl()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchContext.close();
+    }
+
+    @Benchmark
+    public byte[] serializeEvents() throws Exception {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    // Entity graph as /api/booking/mybookings used to return it
+    @Benchmark
+    public byte[] serializeBookings() throws Exception {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] serializeBookingSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
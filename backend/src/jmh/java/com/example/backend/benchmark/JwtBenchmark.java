@@ -0,0 +1,52 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.security.JwtPrincipal;
+import com.example.backend.security.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issue at login and the per-request checks done by JwtAuthFilter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = BenchContext.bean(JwtService.class);
+        token = jwtService.createToken(42L, "fan@bench.local", "USER");
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchContext.close();
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtService.createToken(42L, "fan@bench.local", "USER");
+    }
+
+    // Signature check + claims parse, bypassing the verified-token cache
+    @Benchmark
+    public JwtPrincipal verifyUncached() {
+        return jwtService.verify(token);
+    }
+
+    // What JwtAuthFilter does per request: a cache hit for a repeat token
+    @Benchmark
+    public JwtPrincipal authenticateRequest() {
+        return jwtService.parseToken(token);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.service.QrPayloadCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// QR content encoding and the gate's DB-free pre-check, no database involved
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QrPayloadBenchmark {
+
+    private final QrPayloadCodec codec = new QrPayloadCodec("benchmark_secret_key_benchmark_secret_key");
+    private String signedCode;
+    private String forgedCode;
+    private int ticketNumber;
+
+    @Setup
+    public void setUp() {
+        signedCode = codec.encode(123456L, 789L, 7);
+        char last = signedCode.charAt(signedCode.length() - 1);
+        forgedCode = signedCode.substring(0, signedCode.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    // The pre-signing format, for comparison
+    @Benchmark
+    public String legacyFormat() {
+        return String.format("%d|%d|%d|%s|%s",
+                123456L, 789L, ++ticketNumber & 63, "Priya Sharma", UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public String encodeSigned() {
+        return codec.encode(123456L, 789L, ++ticketNumber & 63);
+    }
+
+    @Benchmark
+    public QrPayloadCodec.Verdict checkSigned() {
+        return codec.check(signedCode);
+    }
+
+    @Benchmark
+    public QrPayloadCodec.Verdict checkForged() {
+        return codec.check(forgedCode);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.backend.benchmark.postgres;
+
+import com.example.backend.benchmark.BenchContext;
+import com.example.backend.benchmark.Fixtures;
+import com.example.backend.entity.Bookings;
+import com.example.backend.entity.Events;
+import com.example.backend.entity.User;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.QrGeneratorService;
+import com.example.backend.service.TicketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Gate check-in. Needs a local Postgres (see application-bench-postgres.properties),
+// so the default jmh.args exclude this package; run with -Djmh.args="CheckInBenchmark".
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CheckInBenchmark {
+
+    private static final int BOOKINGS = 10;
+    private static final int TICKETS_PER_BOOKING = 2000;
+
+    private TicketService ticketService;
+    private JdbcTemplate jdbcTemplate;
+    private final List<String> codes = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchContext.get("bench", "bench-postgres");
+        ticketService = BenchContext.bean(TicketService.class);
+        jdbcTemplate = BenchContext.bean(JdbcTemplate.class);
+        QrGeneratorService qrGeneratorService = BenchContext.bean(QrGeneratorService.class);
+        BookingRepository bookingRepository = BenchContext.bean(BookingRepository.class);
+
+        User user = Fixtures.saveUser(BenchContext.bean(UserRepository.class), "Gate Fan");
+        Events event = Fixtures.saveEvent(BenchContext.bean(EventRepository.class), null);
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            Bookings booking = new Bookings();
+            booking.setUser(user);
+            booking.setEvent(event);
+            booking.setTotalTickets(TICKETS_PER_BOOKING);
+            Long bookingId = bookingRepository.save(booking).getId();
+            codes.addAll(qrGeneratorService.generateTicketsForBooking(bookingId));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchContext.close();
+    }
+
+    // Every iteration starts with all tickets unused again
+    @Setup(Level.Iteration)
+    public void resetCheckIns() {
+        jdbcTemplate.update("UPDATE tickets SET checked_in = false, checked_in_at = null");
+        next = 0;
+    }
+
+    // Wraps around to the "already used" path if an iteration outruns the ticket pool
+    @Benchmark
+    public Map<String, Object> checkIn() {
+        return ticketService.validateTicket(codes.get(next++ % codes.size()));
+    }
+
+    @Benchmark
+    public Map<String, Object> checkInAlreadyUsed() {
+        return ticketService.validateTicket(codes.get(0));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.benchmark.postgres;
+
+import com.example.backend.benchmark.BenchContext;
+import com.example.backend.benchmark.Fixtures;
+import com.example.backend.entity.Bookings;
+import com.example.backend.entity.Events;
+import com.example.backend.entity.User;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.QrGeneratorService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Ticket issuance for group/corporate bookings; the "tickets" counter is tickets/second.
+// Round trips are what matter here, so it runs against Postgres rather than H2.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TicketIssuanceBenchmark {
+
+    @Param({"10", "50", "500"})
+    public int ticketsPerBooking;
+
+    private QrGeneratorService qrGeneratorService;
+    private BookingRepository bookingRepository;
+    private User user;
+    private Events event;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Issued {
+        public long tickets;
+    }
+
+    @State(Scope.Thread)
+    public static class PendingBooking {
+        Long bookingId;
+
+        @Setup(Level.Invocation)
+        public void create(TicketIssuanceBenchmark bench) {
+            Bookings booking = new Bookings();
+            booking.setUser(bench.user);
+            booking.setEvent(bench.event);
+            booking.setTotalTickets(bench.ticketsPerBooking);
+            bookingId = bench.bookingRepository.save(booking).getId();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchContext.get("bench", "bench-postgres");
+        qrGeneratorService = BenchContext.bean(QrGeneratorService.class);
+        bookingRepository = BenchContext.bean(BookingRepository.class);
+        user = Fixtures.saveUser(BenchContext.bean(UserRepository.class), "Corporate Buyer");
+        event = Fixtures.saveEvent(BenchContext.bean(EventRepository.class), null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchContext.close();
+    }
+
+    @Benchmark
+    public List<String> issueTickets(PendingBooking pending, Issued issued) {
+        List<String> codes = qrGeneratorService.generateTicketsForBooking(pending.bookingId);
+        issued.tickets += codes.size();
+        return codes;
+    }
+}
@@ -1,26 +1,27 @@
 package com.example.backend;
 
+import com.example.backend.config.PasswordHashingConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @EnableMethodSecurity
+@EnableScheduling
 @SpringBootApplication
 public class BackendApplication {
 
 	public static void main(String[] args) {
 
         SpringApplication.run(BackendApplication.class, args);
-
-        System.out.println("-------------   BACKEND IS WORKING!!!   -----------");
 	}
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingConfig config) {
+        return new BCryptPasswordEncoder(config.getStrength());
     }
 
 }
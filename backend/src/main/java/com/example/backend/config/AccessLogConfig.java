@@ -0,0 +1,36 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogConfig {
+
+    private boolean enabled = true;
+
+    // JSON lines; rolled over to <file>.1 once it passes maxFileSizeMb
+    private String file = "logs/access.log";
+    private int maxFileSizeMb = 100;
+
+    // Entries waiting for the writer; rounded up to a power of two. When full, new entries are dropped
+    private int bufferSize = 8192;
+
+    // Fraction of requests logged when no route matches. Responses >= 400 are always logged
+    private double defaultSampleRate = 1.0;
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+        // Any method when unset
+        private String method;
+        private String path;
+        private double sampleRate = 1.0;
+    }
+}
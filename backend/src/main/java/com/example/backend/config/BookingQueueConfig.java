@@ -0,0 +1,23 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "booking.queue")
+public class BookingQueueConfig {
+
+    // Waiting room for events in queue mode. Workers = the most booking
+    // transactions that run at once, however many people are waiting.
+    private int workers = 4;
+    private int batchSize = 20;
+    private int capacity = 50_000;
+
+    // How long a finished request's result can still be polled
+    private long resultTtlSeconds = 600;
+
+    // Upper bound for ?wait= on the poll endpoint (below the servlet async timeout)
+    private int maxWaitSeconds = 25;
+}
@@ -0,0 +1,27 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache-bus")
+public class CacheBusConfig {
+
+    // Turn on when more than one instance serves the same database
+    private boolean enabled = false;
+
+    // Postgres NOTIFY channel shared by all instances
+    private String channel = "cache_invalidation";
+
+    // How long the listener waits for notifications before checking it should stop
+    private int pollMillis = 1000;
+
+    // With no notifications for this long the listener checks its connection is still alive
+    private int keepaliveSeconds = 30;
+
+    // Reconnect backoff after the listener loses its connection, doubling up to the max
+    private long reconnectDelayMillis = 1000;
+    private long maxReconnectDelayMillis = 30000;
+}
@@ -0,0 +1,16 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "events.cache")
+public class EventCacheConfig {
+
+    // Read-through cache in front of the public event catalog
+    private boolean enabled = true;
+    private long ttlSeconds = 30;
+    private int maxEntries = 1000;
+}
@@ -0,0 +1,33 @@
+package com.example.backend.config;
+
+import com.example.backend.entity.Events;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.service.EventService;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Events created before startsAt existed only have the free-text date/time.
+// Fill in startsAt for those once at startup so they show up in the cursor
+// listing; rows whose date can't be read stay null and only appear in /page/{n}.
+@Component
+public class EventStartsAtBackfill implements SmartInitializingSingleton {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Events> updated = new ArrayList<>();
+        for (Events event : eventRepository.findByStartsAtIsNull()) {
+            event.setStartsAt(EventService.parseStartsAt(event.getDate(), event.getTime()));
+            if (event.getStartsAt() != null) {
+                updated.add(event);
+            }
+        }
+        eventRepository.saveAll(updated);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyConfig {
+
+    // Recent Idempotency-Key results kept for replaying client retries
+    private long ttlMinutes = 1440;
+    private int maxEntries = 10000;
+
+    // Also record keys in the idempotency_keys table so retries that land on
+    // another instance, or after a restart, are recognised
+    private boolean persist = false;
+
+    // A persisted key whose owner hasn't refreshed it for this long is taken over;
+    // owners refresh their running requests four times per period
+    private long pendingTimeoutSeconds = 60;
+}
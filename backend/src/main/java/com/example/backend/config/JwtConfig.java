@@ -11,4 +11,8 @@ public class JwtConfig {
 
     private String secretKey;
     private Long tokenExpiration = 86400000L;
+
+    // Cache of already-verified tokens (jwt.cache-enabled, jwt.cache-max-entries)
+    private boolean cacheEnabled = true;
+    private int cacheMaxEntries = 10000;
 }
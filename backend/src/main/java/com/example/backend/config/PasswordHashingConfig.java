@@ -0,0 +1,20 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingConfig {
+
+    // BCrypt log rounds; stored hashes below this are rehashed on the next successful login
+    private int strength = 10;
+
+    // Hashing threads; 0 means half the available processors (at least one)
+    private int threads = 0;
+
+    // Sign-ins allowed to wait for a thread; beyond this they get 503 straight away
+    private int queueCapacity = 200;
+}
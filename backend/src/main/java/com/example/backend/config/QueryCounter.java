@@ -0,0 +1,53 @@
+package com.example.backend.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+
+// Counts the SQL statements Hibernate prepares and the entities it loads on the
+// current thread, between start() and stop(). Registered with the session
+// factory as both statement inspector and interceptor (MetricsConfig); threads
+// that never called start() (booking queue workers, schedulers) pay one
+// ThreadLocal lookup and nothing else.
+@Component
+public class QueryCounter implements StatementInspector, Interceptor {
+
+    public static final class Counts {
+        private long statements;
+        private long entityLoads;
+
+        public long getStatements() { return statements; }
+        public long getEntityLoads() { return entityLoads; }
+    }
+
+    private final ThreadLocal<Counts> current = new ThreadLocal<>();
+
+    public void start() {
+        current.set(new Counts());
+    }
+
+    public Counts stop() {
+        Counts counts = current.get();
+        current.remove();
+        return counts;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = current.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        Counts counts = current.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+        return false;
+    }
+}
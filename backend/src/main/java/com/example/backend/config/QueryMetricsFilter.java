@@ -0,0 +1,54 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Records how many SQL statements and entity loads each request caused, per
+// route, as http.server.requests.jdbc.statements / .entity.loads. A route whose
+// p99 climbs with the size of the data is an N+1 in the making.
+@Component
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        queryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.Counts counts = queryCounter.stop();
+            // The route template, so /api/events/{id} is one series rather than one per id
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (counts != null && pattern != null) {
+                summary("http.server.requests.jdbc.statements", request, pattern).record(counts.getStatements());
+                summary("http.server.requests.entity.loads", request, pattern).record(counts.getEntityLoads());
+            }
+        }
+    }
+
+    private DistributionSummary summary(String name, HttpServletRequest request, Object pattern) {
+        return DistributionSummary.builder(name)
+                .tag("method", request.getMethod())
+                .tag("uri", pattern.toString())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitConfig {
+
+    public enum KeyType { USER, IP, EVENT }
+
+    private boolean enabled = true;
+
+    // Only enable behind a proxy that overwrites X-Forwarded-For; otherwise clients pick their own key
+    private boolean trustForwardedFor = false;
+
+    // Idle buckets are swept once a minute. At this many keys, full buckets are swept
+    // early; if that frees nothing, new keys share one bucket until there is room.
+    private int maxKeysPerRule = 100_000;
+
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    // Runs once the properties are bound, so a bad rule stops startup
+    @PostConstruct
+    public void validate() {
+        if (maxKeysPerRule <= 0) {
+            throw new IllegalStateException("rate-limit.max-keys-per-rule must be positive");
+        }
+        rules.forEach((name, rule) -> {
+            if (rule.getPath() == null || rule.getPath().isBlank()) {
+                throw new IllegalStateException("rate-limit.rules." + name + ".path is required");
+            }
+            if (rule.getCapacity() <= 0) {
+                throw new IllegalStateException("rate-limit.rules." + name + ".capacity must be positive");
+            }
+            if (!(rule.getRefillPerSecond() > 0)) {
+                throw new IllegalStateException("rate-limit.rules." + name + ".refill-per-second must be positive");
+            }
+        });
+    }
+
+    @Data
+    public static class Rule {
+        private String method = "POST";
+        private String path;
+        private KeyType key = KeyType.USER;
+
+        // Burst size, and how fast it refills
+        private int capacity = 10;
+        private double refillPerSecond = 1;
+    }
+}
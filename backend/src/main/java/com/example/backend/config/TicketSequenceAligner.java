@@ -0,0 +1,32 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Tickets used to get IDENTITY ids. On a database created back then, the new
+// tickets_seq starts at 1 and would hand out ids that already exist, so move it
+// past the current max id once. Runs before the web server accepts requests.
+@Component
+public class TicketSequenceAligner implements SmartInitializingSingleton {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+
+        // Only ever moves the sequence forward, so a running node's id pool stays valid
+        jdbcTemplate.query(
+                "SELECT setval('tickets_seq', m) FROM (SELECT MAX(id) AS m FROM tickets) x " +
+                        "WHERE m >= (SELECT last_value FROM tickets_seq)",
+                rs -> { });
+    }
+}
@@ -1,14 +1,23 @@
 package com.example.backend.controller;
 
-import com.example.backend.entity.Bookings;
-import com.example.backend.entity.User;
 import com.example.backend.service.AdminService;
+import com.example.backend.service.BookingQueueService;
+import com.example.backend.service.CheckInStatsService;
+import com.example.backend.service.EventService;
+import com.example.backend.service.ExportService;
+import com.example.backend.service.RateLimiter;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -18,23 +27,141 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private CheckInStatsService checkInStatsService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingQueueService bookingQueueService;
+
+    // Listings below come in three shapes: the full list (no parameters), a cursor
+    // page (?limit=&after=<nextCursor>) and an NDJSON stream (?format=ndjson)
+
     @GetMapping("/bookings")
-    public ResponseEntity<List<Bookings>> getAllBookings() {
-        return ResponseEntity.ok(adminService.getAllBookings());
+    public ResponseEntity<?> getAllBookings(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(adminService.getAllBookings());
+        }
+        return ResponseEntity.ok(adminService.getBookingsPage(after, limit));
+    }
+
+    @GetMapping(value = "/bookings", params = "format=ndjson")
+    public void streamAllBookings(HttpServletResponse response) throws IOException {
+        startNdjson(response);
+        adminService.streamBookings(response.getOutputStream());
     }
 
     @GetMapping("/registerusers")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(adminService.getAllUsers());
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(adminService.getAllUsers());
+        }
+        return ResponseEntity.ok(adminService.getUsersPage(null, after, limit));
+    }
+
+    @GetMapping(value = "/registerusers", params = "format=ndjson")
+    public void streamAllUsers(HttpServletResponse response) throws IOException {
+        startNdjson(response);
+        adminService.streamUsers(null, response.getOutputStream());
     }
 
     @GetMapping("/user")
-    public ResponseEntity<List<User>> getRegularUsers() {
-        return ResponseEntity.ok(adminService.getUsersByRole("USER"));
+    public ResponseEntity<?> getRegularUsers(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(adminService.getUsersByRole("USER"));
+        }
+        return ResponseEntity.ok(adminService.getUsersPage("USER", after, limit));
+    }
+
+    @GetMapping(value = "/user", params = "format=ndjson")
+    public void streamRegularUsers(HttpServletResponse response) throws IOException {
+        startNdjson(response);
+        adminService.streamUsers("USER", response.getOutputStream());
     }
 
     @GetMapping("/ticket-checkers")
-    public ResponseEntity<List<User>> getTicketCheckers() {
-        return ResponseEntity.ok(adminService.getUsersByRole("TICKET_CHECKER"));
+    public ResponseEntity<?> getTicketCheckers(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(adminService.getUsersByRole("TICKET_CHECKER"));
+        }
+        return ResponseEntity.ok(adminService.getUsersPage("TICKET_CHECKER", after, limit));
+    }
+
+    @GetMapping(value = "/ticket-checkers", params = "format=ndjson")
+    public void streamTicketCheckers(HttpServletResponse response) throws IOException {
+        startNdjson(response);
+        adminService.streamUsers("TICKET_CHECKER", response.getOutputStream());
+    }
+
+    // Gzipped CSV of every booking/ticket with check-in times, for one event
+    // (?eventId=) or all events starting in a date range (?from=&to=, yyyy-MM-dd)
+    @GetMapping("/exports/attendees")
+    public void exportAttendees(
+            @RequestParam(value = "eventId", required = false) Long eventId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) throws IOException {
+        exportService.checkCriteria(eventId, from, to);
+        String name = eventId != null ? "attendees-event-" + eventId : "attendees-" + from + "-to-" + to;
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + ".csv.gz\"");
+        exportService.exportAttendees(eventId, from, to, response.getOutputStream());
+    }
+
+    // Live door numbers: an SSE stream of "checkins" events, pushed at most once a second
+    @GetMapping(value = "/events/{id}/checkins/stream", produces = "text/event-stream")
+    public SseEmitter streamCheckIns(@PathVariable Long id) {
+        return checkInStatsService.subscribe(id);
+    }
+
+    @GetMapping("/events/{id}/checkins")
+    public ResponseEntity<Map<String, Object>> getCheckIns(@PathVariable Long id) {
+        return ResponseEntity.ok(checkInStatsService.getSnapshot(id));
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(adminService.getCacheStats());
+    }
+
+    // Route this event's bookings through the waiting-room queue (or back to direct booking)
+    @PutMapping("/events/{id}/queue-mode")
+    public ResponseEntity<Map<String, Object>> setQueueMode(
+            @PathVariable Long id,
+            @RequestParam("enabled") boolean enabled) {
+        eventService.setQueueMode(id, enabled);
+        return ResponseEntity.ok(Map.of("eventId", id, "queueMode", enabled));
+    }
+
+    @GetMapping("/booking-queue")
+    public ResponseEntity<Map<String, Object>> getBookingQueueStats() {
+        return ResponseEntity.ok(bookingQueueService.getStats());
+    }
+
+    // Allowed/rejected counts per rate-limit rule
+    @GetMapping("/rate-limits")
+    public ResponseEntity<Map<String, Object>> getRateLimits() {
+        return ResponseEntity.ok(rateLimiter.getStats());
+    }
+
+    private static void startNdjson(HttpServletResponse response) {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,25 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.BookingRequest;
-import com.example.backend.entity.Bookings;
+import com.example.backend.dto.BookingSummary;
+import com.example.backend.service.BookingQueueService;
 import com.example.backend.service.BookingService;
+import com.example.backend.service.IdempotencyService;
+import com.example.backend.service.QrImageService;
+import com.example.backend.service.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/booking")
@@ -19,16 +29,55 @@ public class BookingController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingQueueService bookingQueueService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
     @PostMapping
-    public ResponseEntity<Map<String, String>> bookEvent(
+    public ResponseEntity<Map<String, Object>> bookEvent(
             @RequestBody BookingRequest request,
-            @RequestAttribute Long userId) {
-        String message = bookingService.bookEvent(userId, request.getEventId(), request.getTotalTickets());
-        return ResponseEntity.ok(Map.of("message", message));
+            @RequestAttribute Long userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest) {
+        // Per-event limit, before a persisted key is claimed; a retry this instance
+        // can answer from memory doesn't spend the event's tokens
+        if (!idempotencyService.isKnown(userId, "booking", idempotencyKey)) {
+            rateLimiter.checkEvent(httpRequest, request.getEventId());
+        }
+
+        // A retried request with the same key gets the first response instead of a second booking
+        String fingerprint = request.getEventId() + ":" + request.getTotalTickets();
+        return idempotencyService.execute(userId, "booking", idempotencyKey, fingerprint, () -> {
+            // Events in queue mode answer 202 with a token to poll instead of booking inline
+            if (bookingQueueService.isQueued(request.getEventId())) {
+                Map<String, Object> queued = bookingQueueService.enqueue(
+                        userId, request.getEventId(), request.getTotalTickets());
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/booking/queue/" + queued.get("token")))
+                        .body(queued);
+            }
+
+            String message = bookingService.bookEvent(userId, request.getEventId(), request.getTotalTickets());
+            return ResponseEntity.ok(Map.of("message", message));
+        });
+    }
+
+    // Outcome of a queued booking; ?wait=N holds the request up to N seconds for it to finish
+    @GetMapping("/queue/{token}")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getQueuedBooking(
+            @PathVariable String token,
+            @RequestAttribute Long userId,
+            @RequestParam(value = "wait", defaultValue = "0") int wait) {
+        return bookingQueueService.poll(token, userId, wait).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/mybookings")
-    public ResponseEntity<List<Bookings>> getMyBookings(@RequestAttribute Long userId) {
+    public ResponseEntity<List<BookingSummary>> getMyBookings(@RequestAttribute Long userId) {
         return ResponseEntity.ok(bookingService.getBookingsByUser(userId));
     }
 
@@ -44,4 +93,45 @@ public class BookingController {
     public ResponseEntity<List<String>> getTicketQRCodes(@PathVariable Long id) {
         return ResponseEntity.ok(bookingService.getTicketQRCodes(id));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{bookingId}/tickets/{ticketNumber}.png")
+    public void getTicketPng(
+            @PathVariable Long bookingId,
+            @PathVariable int ticketNumber,
+            @RequestParam(defaultValue = "300") int size,
+            @RequestAttribute Long userId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        writeImage(bookingService.getTicketImage(bookingId, ticketNumber, userId, QrImageService.Format.PNG, size),
+                request, response);
+    }
+
+    @GetMapping("/{bookingId}/tickets/{ticketNumber}.svg")
+    public void getTicketSvg(
+            @PathVariable Long bookingId,
+            @PathVariable int ticketNumber,
+            @RequestParam(defaultValue = "300") int size,
+            @RequestAttribute Long userId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        writeImage(bookingService.getTicketImage(bookingId, ticketNumber, userId, QrImageService.Format.SVG, size),
+                request, response);
+    }
+
+    // Cached bytes go straight to the socket; a matching If-None-Match gets an empty 304
+    private void writeImage(QrImageService.Image image, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, image.getEtag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=86400");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(image.getEtag()) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(image.getContentType());
+        response.setContentLength(image.getBytes().length);
+        response.getOutputStream().write(image.getBytes());
+    }
+}
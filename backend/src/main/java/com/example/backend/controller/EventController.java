@@ -1,6 +1,7 @@
 package com.example.backend.controller;
 
 import com.example.backend.entity.Events;
+import com.example.backend.service.EventInventoryService;
 import com.example.backend.service.EventService;
 import com.example.backend.service.FileStorageService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +12,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -24,9 +24,20 @@ public class EventController {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private EventInventoryService eventInventoryService;
+
+    // Without after/limit this is the full list; with either it's the cursor listing:
+    // /api/events?limit=20, then ?after=<nextCursor>&limit=20, add count=true for totalItems
     @GetMapping("/events")
-    public ResponseEntity<List<Events>> getAllEvents() {
-        return ResponseEntity.ok(eventService.getAllEvents());
+    public ResponseEntity<?> getAllEvents(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "count", defaultValue = "false") boolean count) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(eventService.getAllEvents());
+        }
+        return ResponseEntity.ok(eventService.getEventsAfter(after, limit, count));
     }
 
     @GetMapping("/events/page/{pageNumber}")
@@ -44,11 +55,24 @@ public class EventController {
         return ResponseEntity.ok(response);
     }
 
+    // Type-ahead: the last word of q matches as a prefix
+    @GetMapping("/events/search")
+    public ResponseEntity<Map<String, Object>> searchEvents(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(eventService.searchEvents(q, limit));
+    }
+
     @GetMapping("/events/{id}")
     public ResponseEntity<Events> getEventById(@PathVariable Long id) {
         return ResponseEntity.ok(eventService.getEventById(id));
     }
 
+    @GetMapping("/events/{id}/availability")
+    public ResponseEntity<Map<String, Object>> getAvailability(@PathVariable Long id) {
+        return ResponseEntity.ok(eventInventoryService.getAvailability(id));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping(value = "/admin/events", consumes = {"multipart/form-data"})
     public ResponseEntity<Events> createEvent(
@@ -57,9 +81,10 @@ public class EventController {
             @RequestParam("location") String location,
             @RequestParam("date") String date,
             @RequestParam("time") String time,
+            @RequestParam(value = "capacity", required = false) Integer capacity,
             @RequestPart(value = "image", required = false) MultipartFile image) {
 
-        Events event = eventService.createEvent(name, artist, location, date, time, image);
+        Events event = eventService.createEvent(name, artist, location, date, time, capacity, image);
         return ResponseEntity.ok(event);
     }
 
@@ -1,5 +1,6 @@
 package com.example.backend.controller;
 
+import com.example.backend.service.IdempotencyService;
 import com.example.backend.service.QrGeneratorService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -17,12 +18,22 @@ public class QrController {
     @Autowired
     private QrGeneratorService qrGeneratorService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @PostMapping("/generate/{bookingId}")
-    public ResponseEntity<Map<String, Object>> generateQr(@PathVariable Long bookingId) {
-        List<String> qrCodes = qrGeneratorService.generateTicketsForBooking(bookingId);
-        return ResponseEntity.ok(Map.of(
-                "status", "success",
-                "qrCodes", qrCodes
-        ));
+    public ResponseEntity<Map<String, Object>> generateQr(
+            @PathVariable Long bookingId,
+            @RequestAttribute Long userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        // A retry with the same key gets the codes from the first call rather than the
+        // "already generated" error
+        return idempotencyService.execute(userId, "qr-generate", idempotencyKey, String.valueOf(bookingId), () -> {
+            List<String> qrCodes = qrGeneratorService.generateTicketsForBooking(bookingId);
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "qrCodes", qrCodes
+            ));
+        });
     }
 }
\ No newline at end of file
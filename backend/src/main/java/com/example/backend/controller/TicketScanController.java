@@ -1,11 +1,15 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.ScanSyncRequest;
+import com.example.backend.service.OfflineGateService;
 import com.example.backend.service.TicketService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -15,11 +19,25 @@ public class TicketScanController {
     @Autowired
     private TicketService ticketService;
 
+    @Autowired
+    private OfflineGateService offlineGateService;
+
     @PreAuthorize("hasRole('TICKET_CHECKER')")
     @PostMapping("/validate")
-    public ResponseEntity<Map<String, Object>> validateTicket(@RequestBody Map<String, String> request) {
+    public ResponseEntity<Map<String, Object>> validateTicket(
+            @RequestBody Map<String, String> request,
+            @RequestAttribute(required = false) Long userId) {
         String qrCode = request.get("qrCode");
-        return ResponseEntity.ok(ticketService.validateTicket(qrCode));
+        return ResponseEntity.ok(ticketService.validateTicket(qrCode, userId));
+    }
+
+    // Many scans in one request, e.g. {"qrCodes": ["...", "..."]}
+    @PreAuthorize("hasRole('TICKET_CHECKER')")
+    @PostMapping("/validate-batch")
+    public ResponseEntity<Map<String, Object>> validateBatch(
+            @RequestBody Map<String, List<String>> request,
+            @RequestAttribute(required = false) Long userId) {
+        return ResponseEntity.ok(ticketService.validateBatch(request.get("qrCodes"), userId));
     }
 
     @PreAuthorize("hasRole('TICKET_CHECKER')")
@@ -28,6 +46,29 @@ public class TicketScanController {
         return ResponseEntity.ok(ticketService.getTicketStatus(bookingId));
     }
 
+    // Hashed list of valid QR codes so a gate can keep admitting while offline
+    @PreAuthorize("hasRole('TICKET_CHECKER')")
+    @GetMapping("/events/{eventId}/manifest")
+    public ResponseEntity<byte[]> getManifest(@PathVariable Long eventId,
+                                              @RequestParam(required = false) Long since) {
+        OfflineGateService.Manifest manifest = offlineGateService.buildManifest(eventId, since);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header("X-Manifest-Version", String.valueOf(manifest.getVersion()))
+                .header("X-Manifest-Count", String.valueOf(manifest.getCount()))
+                .header("X-Manifest-Delta", String.valueOf(manifest.isDelta()))
+                .body(manifest.getBody());
+    }
+
+    // Upload of scans queued while the device was offline
+    @PreAuthorize("hasRole('TICKET_CHECKER')")
+    @PostMapping("/sync")
+    public ResponseEntity<Map<String, Object>> syncScans(
+            @RequestBody ScanSyncRequest request,
+            @RequestAttribute(required = false) Long userId) {
+        return ResponseEntity.ok(offlineGateService.syncScans(request, userId));
+    }
+
     @GetMapping("/public/status/{bookingId}")
     public ResponseEntity<Map<String, Object>> getPublicTicketStatus(@PathVariable Long bookingId) {
         return ResponseEntity.ok(ticketService.getTicketStatus(bookingId));
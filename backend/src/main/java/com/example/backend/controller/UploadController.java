@@ -0,0 +1,35 @@
+package com.example.backend.controller;
+
+import com.example.backend.service.StaticUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/uploads/events")
+public class UploadController {
+
+    @Autowired
+    private StaticUploadService staticUploadService;
+
+    @GetMapping("/{fileName:.+}")
+    public void getFile(@PathVariable String fileName,
+                        HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        staticUploadService.serve(fileName, false, request, response);
+    }
+
+    @RequestMapping(value = "/{fileName:.+}", method = RequestMethod.HEAD)
+    public void headFile(@PathVariable String fileName,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        staticUploadService.serve(fileName, true, request, response);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Read model for booking listings, built straight from one JPQL query
+// (see BookingRepository). Same JSON field names as the Bookings entity,
+// without the ticket rows or the user's password hash.
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingSummary {
+    private Long id;
+    private int totalTickets;
+    private boolean qrGenerated;
+    private int ticketsUsed;
+    private EventSummary event;
+    private UserSummary user;
+
+    @Data
+    public static class EventSummary {
+        private Long id;
+        private String name;
+        private String artist;
+        private String location;
+        private String date;
+        private String time;
+        private LocalDateTime startsAt;
+        private String imageUrl;
+    }
+
+    @Data
+    public static class UserSummary {
+        private Long id;
+        private String name;
+        private String email;
+    }
+
+    public BookingSummary(Long id, int totalTickets, boolean qrGenerated, Long ticketsUsed,
+                          Long eventId, String eventName, String artist, String location,
+                          String date, String time, LocalDateTime startsAt, String imageUrl) {
+        this.id = id;
+        this.totalTickets = totalTickets;
+        this.qrGenerated = qrGenerated;
+        this.ticketsUsed = ticketsUsed == null ? 0 : ticketsUsed.intValue();
+
+        this.event = new EventSummary();
+        this.event.setId(eventId);
+        this.event.setName(eventName);
+        this.event.setArtist(artist);
+        this.event.setLocation(location);
+        this.event.setDate(date);
+        this.event.setTime(time);
+        this.event.setStartsAt(startsAt);
+        this.event.setImageUrl(imageUrl);
+    }
+
+    public BookingSummary(Long id, int totalTickets, boolean qrGenerated, Long ticketsUsed,
+                          Long eventId, String eventName, String artist, String location,
+                          String date, String time, LocalDateTime startsAt, String imageUrl,
+                          Long userId, String userName, String email) {
+        this(id, totalTickets, qrGenerated, ticketsUsed,
+                eventId, eventName, artist, location, date, time, startsAt, imageUrl);
+
+        this.user = new UserSummary();
+        this.user.setId(userId);
+        this.user.setName(userName);
+        this.user.setEmail(email);
+    }
+}
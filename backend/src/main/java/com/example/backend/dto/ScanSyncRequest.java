@@ -0,0 +1,20 @@
+package com.example.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Scans queued on a gate device while it was offline
+@Data
+public class ScanSyncRequest {
+    private String deviceId;
+    private List<ScanRecord> scans = new ArrayList<>();
+
+    @Data
+    public static class ScanRecord {
+        private String qrCode;
+        private LocalDateTime scannedAt; // device clock; server time if missing
+    }
+}
@@ -6,6 +6,10 @@ import jakarta.persistence.*;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_bookings_user_id", columnList = "user_id"),
+        @Index(name = "idx_bookings_event_id", columnList = "event_id")
+})
 public class Bookings {
 
     @Id
@@ -3,11 +3,18 @@ package com.example.backend.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
+@Table(indexes = {
+        // Seek index for cursor paging: (starts_at, id) > (cursor)
+        @Index(name = "idx_events_starts_at_id", columnList = "starts_at, id")
+})
 public class Events {
     @Id
     @GeneratedValue
@@ -20,6 +27,24 @@ public class Events {
     private String time;
     private String imageUrl;
 
+    // Typed start of the event, derived from date + time; the strings are kept for clients
+    private LocalDateTime startsAt;
+
+    // null capacity = unlimited (events created before capacity existed)
+    private Integer capacity;
+    private Integer remaining;
+
+    // true = bookings for this event go through the waiting-room queue (null/false = direct)
+    private Boolean queueMode;
+
+    // Content hash of the poster once its resized copies exist (null = only imageUrl)
+    @JsonIgnore
+    @Column(length = 64)
+    private String posterHash;
+
+    @JsonIgnore
+    private Boolean posterWebp;
+
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore  // Prevents infinite recursion when serializing
     private List<Bookings> bookings = new ArrayList<>();
@@ -33,6 +58,30 @@ public class Events {
     public String getDate() {  return date;  }
     public String getTime() {  return time;  }
     public String getImageUrl() {  return imageUrl; }
+    public LocalDateTime getStartsAt() {  return startsAt; }
+    public Integer getCapacity() {  return capacity; }
+    public Integer getRemaining() {  return remaining; }
+    public Boolean getQueueMode() {  return queueMode; }
+    public String getPosterHash() {  return posterHash; }
+    public Boolean getPosterWebp() {  return posterWebp; }
+
+    // Resized poster URLs per size, e.g. images.card.webp; null until they've been generated
+    public Map<String, Map<String, Object>> getImages() {
+        if (posterHash == null) {
+            return null;
+        }
+        Map<String, Map<String, Object>> images = new LinkedHashMap<>();
+        for (PosterSize size : PosterSize.values()) {
+            Map<String, Object> urls = new LinkedHashMap<>();
+            urls.put("width", size.getWidth());
+            urls.put("jpeg", size.url(posterHash, "jpg"));
+            if (Boolean.TRUE.equals(posterWebp)) {
+                urls.put("webp", size.url(posterHash, "webp"));
+            }
+            images.put(size.getKey(), urls);
+        }
+        return images;
+    }
     public List<Bookings> getBookings() { return bookings; }
     public void setBookings(List<Bookings> bookings) { this.bookings = bookings; }
 
@@ -59,6 +108,24 @@ public class Events {
     public void setImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
     }
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+    public void setRemaining(Integer remaining) {
+        this.remaining = remaining;
+    }
+    public void setQueueMode(Boolean queueMode) {
+        this.queueMode = queueMode;
+    }
+    public void setPosterHash(String posterHash) {
+        this.posterHash = posterHash;
+    }
+    public void setPosterWebp(Boolean posterWebp) {
+        this.posterWebp = posterWebp;
+    }
     public boolean hasBookings() {
         return bookings != null && !bookings.isEmpty();
     }
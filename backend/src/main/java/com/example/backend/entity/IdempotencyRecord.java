@@ -0,0 +1,45 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_owner",
+                columnNames = {"user_id", "scope", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 32)
+    private String scope;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    // Identifies the request body the key was first used with
+    @Column(nullable = false)
+    private String fingerprint;
+
+    // Null while the first request is still running
+    private Integer status;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Refreshed by the instance running the first request until it finishes
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
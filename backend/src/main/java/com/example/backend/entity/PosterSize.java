@@ -0,0 +1,33 @@
+package com.example.backend.entity;
+
+// Fixed-width copies made of every event poster. Files are named
+// <content hash>-<key>.<ext> next to the original under /uploads/events/.
+public enum PosterSize {
+    THUMBNAIL("thumbnail", 160),
+    CARD("card", 480),
+    HERO("hero", 1280);
+
+    private final String key;
+    private final int width;
+
+    PosterSize(String key, int width) {
+        this.key = key;
+        this.width = width;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public String fileName(String hash, String extension) {
+        return hash + "-" + key + "." + extension;
+    }
+
+    public String url(String hash, String extension) {
+        return "/uploads/events/" + fileName(hash, extension);
+    }
+}
@@ -5,10 +5,17 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_tickets_booking_id", columnList = "booking_id"),
+        @Index(name = "idx_tickets_event_id", columnList = "event_id")
+})
 public class Tickets {
 
+    // Pooled sequence: one nextval per 50 ids, and unlike IDENTITY it lets
+    // Hibernate batch the INSERTs when a booking's tickets are issued
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @SequenceGenerator(name = "tickets_seq", sequenceName = "tickets_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -1,17 +1,35 @@
 package com.example.backend.exception;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleAll(Exception ex) {
-        ex.printStackTrace();   // 👈 MUST
+        // Spring's own exceptions (missing parameter, wrong method, unknown path, ...)
+        // already carry the right 4xx; only a genuine failure is a 500
+        if (ex instanceof ErrorResponse errorResponse) {
+            return ResponseEntity.status(errorResponse.getStatusCode()).body(Map.of(
+                    "success", false,
+                    "message", errorResponse.getBody().getDetail() != null
+                            ? errorResponse.getBody().getDetail()
+                            : errorResponse.getStatusCode().toString()
+            ));
+        }
+        log.error("Unhandled exception", ex);
         return ResponseEntity.status(500)
                 .body(Map.of("success", false, "message", ex.getMessage()));
     }
@@ -42,4 +60,47 @@ public class GlobalExceptionHandler {
                 "message", ex.getMessage()
         ));
     }
+
+    @ExceptionHandler(SoldOutException.class)
+    public ResponseEntity<?> handleSoldOut(SoldOutException ex) {
+        return ResponseEntity.status(409).body(Map.of(
+                "success", false,
+                "message", ex.getMessage()
+        ));
+    }
+
+    @ExceptionHandler(RateLimitedException.class)
+    public ResponseEntity<?> handleRateLimited(RateLimitedException ex) {
+        return ResponseEntity.status(429)
+                .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of(
+                        "success", false,
+                        "message", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<?> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        return ResponseEntity.status(400).body(Map.of(
+                "success", false,
+                "message", "Malformed request body"
+        ));
+    }
+
+    @ExceptionHandler(TypeMismatchException.class)
+    public ResponseEntity<?> handleTypeMismatch(TypeMismatchException ex) {
+        return ResponseEntity.status(400).body(Map.of(
+                "success", false,
+                "message", "Invalid value for " + ex.getPropertyName()
+        ));
+    }
+
+    // Keeps the status chosen by the code that threw, instead of the catch-all 500
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<?> handleResponseStatus(ResponseStatusException ex) {
+        return ResponseEntity.status(ex.getStatusCode()).body(Map.of(
+                "success", false,
+                "message", ex.getReason() != null ? ex.getReason() : ex.getStatusCode().toString()
+        ));
+    }
 }
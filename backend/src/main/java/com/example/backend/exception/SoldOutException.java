@@ -0,0 +1,7 @@
+package com.example.backend.exception;
+
+public class SoldOutException extends RuntimeException {
+    public SoldOutException(String msg) {
+        super(msg);
+    }
+}
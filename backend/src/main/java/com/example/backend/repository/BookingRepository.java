@@ -1,12 +1,57 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.BookingSummary;
 import com.example.backend.entity.Bookings;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface BookingRepository extends JpaRepository<Bookings, Long> {
 
     //List<Bookings> getBookingByUser(Long userId);
     List<Bookings> findByUserId(Long userId);
+
+    // Booking listings in one statement: event columns come from the join,
+    // ticketsUsed from a correlated count on the tickets.booking_id index
+    @Query("SELECT new com.example.backend.dto.BookingSummary(" +
+            "b.id, b.totalTickets, b.qrGenerated, " +
+            "(SELECT COUNT(t) FROM Tickets t WHERE t.booking = b AND t.checkedIn = true), " +
+            "e.id, e.name, e.artist, e.location, e.date, e.time, e.startsAt, e.imageUrl) " +
+            "FROM Bookings b JOIN b.event e WHERE b.user.id = :userId ORDER BY b.id DESC")
+    List<BookingSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.example.backend.dto.BookingSummary(" +
+            "b.id, b.totalTickets, b.qrGenerated, " +
+            "(SELECT COUNT(t) FROM Tickets t WHERE t.booking = b AND t.checkedIn = true), " +
+            "e.id, e.name, e.artist, e.location, e.date, e.time, e.startsAt, e.imageUrl, " +
+            "u.id, u.name, u.email) " +
+            "FROM Bookings b JOIN b.event e JOIN b.user u ORDER BY b.id DESC")
+    List<BookingSummary> findAllSummaries();
+
+    // Newest first, seeking below the last id of the previous page
+    @Query("SELECT new com.example.backend.dto.BookingSummary(" +
+            "b.id, b.totalTickets, b.qrGenerated, " +
+            "(SELECT COUNT(t) FROM Tickets t WHERE t.booking = b AND t.checkedIn = true), " +
+            "e.id, e.name, e.artist, e.location, e.date, e.time, e.startsAt, e.imageUrl, " +
+            "u.id, u.name, u.email) " +
+            "FROM Bookings b JOIN b.event e JOIN b.user u WHERE b.id < :before ORDER BY b.id DESC")
+    List<BookingSummary> findSummariesBefore(@Param("before") long before, Pageable pageable);
+
+    // Forward-only cursor; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.backend.dto.BookingSummary(" +
+            "b.id, b.totalTickets, b.qrGenerated, " +
+            "(SELECT COUNT(t) FROM Tickets t WHERE t.booking = b AND t.checkedIn = true), " +
+            "e.id, e.name, e.artist, e.location, e.date, e.time, e.startsAt, e.imageUrl, " +
+            "u.id, u.name, u.email) " +
+            "FROM Bookings b JOIN b.event e JOIN b.user u ORDER BY b.id DESC")
+    Stream<BookingSummary> streamAllSummaries();
 }
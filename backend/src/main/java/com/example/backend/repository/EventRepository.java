@@ -4,7 +4,13 @@ import com.example.backend.entity.Events;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface EventRepository extends JpaRepository<Events, Long> {
 
@@ -14,4 +20,49 @@ public interface EventRepository extends JpaRepository<Events, Long> {
     // Optional: Custom query with sorting
     @Query("SELECT e FROM Events e ORDER BY e.date DESC")
     Page<Events> findAllSortedByDate(Pageable pageable);
-}
\ No newline at end of file
+
+    // First page of the cursor listing
+    @Query("SELECT e FROM Events e WHERE e.startsAt IS NOT NULL ORDER BY e.startsAt, e.id")
+    List<Events> findFirstByStart(Pageable pageable);
+
+    // Seek to just after (startsAt, id). The redundant ">=" is what lets the index
+    // range scan start at the cursor instead of filtering from the beginning.
+    @Query("SELECT e FROM Events e WHERE e.startsAt >= :startsAt " +
+            "AND (e.startsAt > :startsAt OR e.id > :id) ORDER BY e.startsAt, e.id")
+    List<Events> findAfterByStart(@Param("startsAt") LocalDateTime startsAt,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM Events e WHERE e.startsAt IS NOT NULL")
+    long countWithStart();
+
+    List<Events> findByStartsAtIsNull();
+
+    // Rows are [id, capacity, remaining] for every capacity-limited event
+    @Query("SELECT e.id, e.capacity, e.remaining FROM Events e WHERE e.capacity IS NOT NULL")
+    List<Object[]> findInventorySnapshot();
+
+    // Guarded decrement: 0 rows updated means not enough seats left
+    @Modifying
+    @Query("UPDATE Events e SET e.remaining = e.remaining - :count " +
+            "WHERE e.id = :eventId AND e.remaining >= :count")
+    int reserveSeats(@Param("eventId") Long eventId, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE Events e SET e.remaining = e.remaining + :count " +
+            "WHERE e.id = :eventId AND e.remaining + :count <= e.capacity")
+    int releaseSeats(@Param("eventId") Long eventId, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE Events e SET e.queueMode = :enabled WHERE e.id = :eventId")
+    int setQueueMode(@Param("eventId") Long eventId, @Param("enabled") boolean enabled);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Events e SET e.posterHash = :hash, e.posterWebp = :webp WHERE e.id = :eventId")
+    int setPoster(@Param("eventId") Long eventId, @Param("hash") String hash, @Param("webp") boolean webp);
+
+    // Events whose poster hasn't been resized yet (uploads from before resizing existed)
+    @Query("SELECT e.id, e.imageUrl FROM Events e WHERE e.posterHash IS NULL AND e.imageUrl IS NOT NULL")
+    List<Object[]> findPostersToGenerate();
+}
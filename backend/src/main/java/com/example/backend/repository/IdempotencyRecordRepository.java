@@ -0,0 +1,37 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserIdAndScopeAndIdempotencyKey(Long userId, String scope, String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.heartbeatAt = :now WHERE r.id IN :ids AND r.status IS NULL")
+    int touchPending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Deletes the row only if it is past its TTL, or pending and not refreshed since
+    // silentSince; checked in the statement so a live owner's heartbeat can't race it
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND (r.createdAt < :expiredBefore " +
+            "OR (r.status IS NULL AND COALESCE(r.heartbeatAt, r.createdAt) < :silentSince))")
+    int deleteIfStale(@Param("id") Long id,
+                      @Param("expiredBefore") LocalDateTime expiredBefore,
+                      @Param("silentSince") LocalDateTime silentSince);
+}
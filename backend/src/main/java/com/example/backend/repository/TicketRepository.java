@@ -2,9 +2,12 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.Tickets;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +22,95 @@ public interface TicketRepository extends JpaRepository<Tickets, Long> {
 
     @Query("SELECT COUNT(t) FROM Tickets t WHERE t.booking.id = :bookingId AND t.checkedIn = true")
     long countScannedTicketsByBookingId(@Param("bookingId") Long bookingId);
+
+    List<Tickets> findByQrCodeIn(Collection<String> qrCodes);
+
+    // Only matches tickets on a booking owned by the given user
+    @Query("SELECT t.qrCode FROM Tickets t " +
+            "WHERE t.booking.id = :bookingId AND t.ticketNumber = :ticketNumber AND t.booking.user.id = :userId")
+    Optional<String> findOwnedQrCode(@Param("bookingId") Long bookingId,
+                                     @Param("ticketNumber") int ticketNumber,
+                                     @Param("userId") Long userId);
+
+    // Rows are [id, qrCode] of unused tickets issued after the given ticket id
+    @Query("SELECT t.id, t.qrCode FROM Tickets t " +
+            "WHERE t.event.id = :eventId AND t.id > :afterId AND t.checkedIn = false")
+    List<Object[]> findUnusedQrCodesByEventId(@Param("eventId") Long eventId,
+                                              @Param("afterId") Long afterId);
+
+    // Marks every still-unused ticket in the set in one statement; the caller can
+    // tell which rows it admitted by the checkedInAt stamp it passed in
+    @Modifying
+    @Query("UPDATE Tickets t SET t.checkedIn = true, t.checkedInAt = :checkedInAt " +
+            "WHERE t.qrCode IN :qrCodes AND t.checkedIn = false")
+    int checkInAll(@Param("qrCodes") Collection<String> qrCodes,
+                   @Param("checkedInAt") LocalDateTime checkedInAt);
+
+    // Rows are [qrCode, checkedInAt, ticketNumber, bookingId, eventName, attendeeName, eventId]
+    @Query("SELECT t.qrCode, t.checkedInAt, t.ticketNumber, b.id, e.name, u.name, e.id " +
+            "FROM Tickets t JOIN t.booking b JOIN t.event e JOIN b.user u " +
+            "WHERE t.qrCode IN :qrCodes")
+    List<Object[]> findScanDetailsByQrCodeIn(@Param("qrCodes") Collection<String> qrCodes);
+
+    // Rows are [bookingId, scannedCount, totalCount]
+    @Query("SELECT t.booking.id, SUM(CASE WHEN t.checkedIn = true THEN 1 ELSE 0 END), COUNT(t) " +
+            "FROM Tickets t WHERE t.booking.id IN :bookingIds GROUP BY t.booking.id")
+    List<Object[]> countTicketsByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Decides and records admission in one statement. The row comes back either way
+    // (admitted = false when the ticket was already used), empty when the code is unknown.
+    // Rows are [ticketNumber, bookingId, eventName, attendeeName, admitted, checkedInAt,
+    // scannedCount, totalCount, eventId]; the counts include this scan.
+    @Query(nativeQuery = true, value = """
+            WITH claimed AS (
+                UPDATE tickets SET checked_in = true, checked_in_at = :checkedInAt
+                WHERE qr_code = :qrCode AND checked_in = false
+                RETURNING id, checked_in_at
+            )
+            SELECT t.ticket_number, t.booking_id, e.name, u.name,
+                   c.id IS NOT NULL,
+                   COALESCE(c.checked_in_at, t.checked_in_at),
+                   (SELECT COUNT(*) FROM tickets s WHERE s.booking_id = t.booking_id AND s.checked_in)
+                       + CASE WHEN c.id IS NULL THEN 0 ELSE 1 END,
+                   (SELECT COUNT(*) FROM tickets s WHERE s.booking_id = t.booking_id),
+                   t.event_id
+            FROM tickets t
+            LEFT JOIN claimed c ON c.id = t.id
+            JOIN events e ON e.id = t.event_id
+            JOIN bookings b ON b.id = t.booking_id
+            JOIN users u ON u.id = b.user_id
+            WHERE t.qr_code = :qrCode
+            """)
+    List<Object[]> checkIn(@Param("qrCode") String qrCode,
+                           @Param("checkedInAt") LocalDateTime checkedInAt);
+
+    // Offline variant of checkIn for a whole sync in one statement: codes[i] was scanned
+    // at times[i] (ISO timestamps). A scan also moves a stored check-in back to its own,
+    // earlier time, so the earliest scan sticks whatever order devices sync in, but only
+    // a ticket that was unused is admitted. Rows are locked in id order and read after
+    // the lock, so two syncs of a cloned code can't both see it unused. Unknown codes
+    // return nothing. Rows are [qrCode, ticketNumber, admitted, checkedInAt, eventId].
+    @Query(nativeQuery = true, value = """
+            WITH locked AS (
+                SELECT t.id, t.qr_code, t.ticket_number, t.event_id,
+                       t.checked_in AS was_used, t.checked_in_at AS was_at, v.scanned_at
+                FROM tickets t
+                JOIN unnest(CAST(:codes AS text[]), CAST(:times AS timestamp[])) AS v(code, scanned_at)
+                    ON t.qr_code = v.code
+                ORDER BY t.id
+                FOR UPDATE OF t
+            ), claimed AS (
+                UPDATE tickets t SET checked_in = true, checked_in_at = l.scanned_at
+                FROM locked l
+                WHERE t.id = l.id AND (NOT l.was_used OR l.was_at > l.scanned_at)
+                RETURNING t.id
+            )
+            SELECT l.qr_code, l.ticket_number, NOT l.was_used,
+                   CASE WHEN c.id IS NULL THEN l.was_at ELSE l.scanned_at END,
+                   l.event_id
+            FROM locked l
+            LEFT JOIN claimed c ON c.id = l.id
+            """)
+    List<Object[]> checkInEarliest(@Param("codes") String[] codes,
+                                   @Param("times") String[] times);
 }
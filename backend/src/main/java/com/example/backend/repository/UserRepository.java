@@ -1,12 +1,23 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.UserDTO;
 import com.example.backend.entity.Role;
 import com.example.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends  JpaRepository<User, Long> {
@@ -15,4 +26,28 @@ public interface UserRepository extends  JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     List<User> findByRole(Role role);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    // Admin listings: id-ordered pages after a cursor, and forward-only streams
+    @Query("SELECT new com.example.backend.dto.UserDTO(u.id, u.name, u.email, str(u.role)) " +
+            "FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<UserDTO> findSummariesAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("SELECT new com.example.backend.dto.UserDTO(u.id, u.name, u.email, str(u.role)) " +
+            "FROM User u WHERE u.role = :role AND u.id > :after ORDER BY u.id")
+    List<UserDTO> findSummariesByRoleAfter(@Param("role") Role role, @Param("after") long after, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.backend.dto.UserDTO(u.id, u.name, u.email, str(u.role)) " +
+            "FROM User u ORDER BY u.id")
+    Stream<UserDTO> streamSummaries();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.backend.dto.UserDTO(u.id, u.name, u.email, str(u.role)) " +
+            "FROM User u WHERE u.role = :role ORDER BY u.id")
+    Stream<UserDTO> streamSummariesByRole(@Param("role") Role role);
 }
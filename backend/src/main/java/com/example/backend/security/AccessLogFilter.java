@@ -0,0 +1,64 @@
+package com.example.backend.security;
+
+import com.example.backend.service.AccessLog;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// First in the security chain, so requests turned away by authentication,
+// authorization or rate limiting are logged too. userId and role are read after
+// the chain returns, once JwtAuthFilter has set them.
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private AccessLog accessLog;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Long polls, SSE and async sign-ins: the final status is only known on completion
+                async = true;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        accessLog.record(request, response, start, true);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        // onComplete follows
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        // onComplete follows
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
+        } finally {
+            if (!async) {
+                accessLog.record(request, response, start, false);
+            }
+        }
+    }
+}
@@ -29,19 +29,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String path = request.getRequestURI();
-
-        System.out.println("🔐 Request path: " + path); // Debug log
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtService.isTokenValid(token)) {
-                Long userId = jwtService.getUserIdFromToken(token);
-                String email = jwtService.getEmailFromToken(token);
-                String role = jwtService.getRoleFromToken(token);
+            JwtPrincipal principal = jwtService.parseToken(token);
 
-                System.out.println("👤 User: " + email + ", Role: " + role); // Debug log
+            if (principal != null) {
+                Long userId = principal.getUserId();
+                String email = principal.getEmail();
+                String role = principal.getRole();
 
                 // ✅ FIXED: Add ROLE_ prefix
                 List<SimpleGrantedAuthority> authorities =
@@ -54,8 +51,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 request.setAttribute("userId", userId);
                 request.setAttribute("userRole", role);
-
-                System.out.println("✅ Authentication set with authorities: " + authorities);
             }
         }
 
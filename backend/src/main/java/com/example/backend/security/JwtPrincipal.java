@@ -0,0 +1,26 @@
+package com.example.backend.security;
+
+// Everything the app needs from a verified token, parsed once per token
+public final class JwtPrincipal {
+
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final long expiresAtMillis;
+
+    public JwtPrincipal(Long userId, String email, String role, long expiresAtMillis) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public Long getUserId() { return userId; }
+    public String getEmail() { return email; }
+    public String getRole() { return role; }
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
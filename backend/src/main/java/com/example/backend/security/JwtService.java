@@ -2,10 +2,12 @@ package com.example.backend.security;
 
 import com.example.backend.config.JwtConfig;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,7 +15,6 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Service
 public class JwtService {
@@ -21,10 +22,22 @@ public class JwtService {
     @Autowired
     JwtConfig jwtConfig;
 
-    // Create secret Key
-    private Key getSecretKey() {
-        byte[] keyBytes = jwtConfig.getSecretKey().getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Built once; both are thread-safe
+    private Key secretKey;
+    private JwtParser parser;
+
+    private VerifiedTokenCache tokenCache;
+
+    @PostConstruct
+    public void init() {
+        secretKey = Keys.hmacShaKeyFor(jwtConfig.getSecretKey().getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+
+        if (jwtConfig.isCacheEnabled()) {
+            tokenCache = new VerifiedTokenCache(jwtConfig.getCacheMaxEntries());
+        }
     }
 
     // Generate token for user
@@ -39,48 +52,78 @@ public class JwtService {
                 .setSubject(email)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtConfig.getTokenExpiration()))
-                .signWith(getSecretKey(), SignatureAlgorithm.HS256)
+                .signWith(secretKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // Verified principal for the token, or null if it is invalid or expired.
+    // Tokens seen before skip signature verification via the cache.
+    @Timed(value = "jwt.parse", percentiles = {0.5, 0.99})
+    public JwtPrincipal parseToken(String token) {
+        if (tokenCache == null) {
+            return verify(token);
+        }
+
+        JwtPrincipal principal = tokenCache.get(token);
+        if (principal == null) {
+            principal = verify(token);
+            if (principal != null) {
+                tokenCache.put(token, principal);
+            }
+        }
+        return principal;
+    }
+
+    // Full signature check, always hits the crypto
+    public JwtPrincipal verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            return new JwtPrincipal(
+                    claims.get("userId", Long.class),
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    expiration != null ? expiration.getTime() : Long.MAX_VALUE
+            );
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public Map<String, Object> getCacheStats() {
+        if (tokenCache == null) {
+            return Map.of("enabled", false);
+        }
+        Map<String, Object> stats = tokenCache.getStats();
+        stats.put("enabled", true);
+        return stats;
+    }
+
     //  Get user ID from token
     public Long getUserIdFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("userId", Long.class));
+        return requirePrincipal(token).getUserId();
     }
 
     //  Get role from token
     public String getRoleFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("role", String.class));
+        return requirePrincipal(token).getRole();
     }
 
     //  Get email from token
     public String getEmailFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+        return requirePrincipal(token).getEmail();
     }
 
     // Check if token is valid
     public boolean isTokenValid(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSecretKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return parseToken(token) != null;
     }
 
-
-
-    //  Helper method to get claims
-    private <T> T getClaimFromToken(String token, Function<Claims, T> claimsTFunction) {
-
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSecretKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsTFunction.apply(claims);
+    private JwtPrincipal requirePrincipal(String token) {
+        JwtPrincipal principal = parseToken(token);
+        if (principal == null) {
+            throw new IllegalArgumentException("Invalid token");
+        }
+        return principal;
     }
 }
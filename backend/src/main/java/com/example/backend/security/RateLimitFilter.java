@@ -0,0 +1,49 @@
+package com.example.backend.security;
+
+import com.example.backend.exception.RateLimitedException;
+import com.example.backend.service.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Runs right after JwtAuthFilter so per-user rules can see the userId attribute.
+// Rejected requests never reach a controller, the database or the password encoder.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            rateLimiter.checkRequest(request);
+        } catch (RateLimitedException e) {
+            // Same body GlobalExceptionHandler produces; advice doesn't apply to filters
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
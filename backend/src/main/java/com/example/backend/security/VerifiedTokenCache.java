@@ -0,0 +1,65 @@
+package com.example.backend.security;
+
+import com.example.backend.service.ExpiringCache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+// Tokens whose signature we already checked, keyed by a SHA-256 of the token
+// so raw tokens never sit in memory. Entries die with the token's own expiry.
+public class VerifiedTokenCache {
+
+    private final ExpiringCache<TokenKey, JwtPrincipal> entries;
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.entries = new ExpiringCache<>(true, 0, maxEntries);
+    }
+
+    public JwtPrincipal get(String token) {
+        return entries.getIfPresent(TokenKey.of(token));
+    }
+
+    public void put(String token, JwtPrincipal principal) {
+        entries.put(TokenKey.of(token), principal,
+                principal.getExpiresAtMillis() - System.currentTimeMillis());
+    }
+
+    public Map<String, Object> getStats() {
+        return entries.getStats();
+    }
+
+    // First 128 bits of SHA-256(token)
+    private static final class TokenKey {
+        private final long hi;
+        private final long lo;
+
+        private TokenKey(long hi, long lo) {
+            this.hi = hi;
+            this.lo = lo;
+        }
+
+        static TokenKey of(String token) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(digest);
+                return new TokenKey(buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TokenKey other && hi == other.hi && lo == other.lo;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hi ^ lo);
+        }
+    }
+}
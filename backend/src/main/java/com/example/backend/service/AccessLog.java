@@ -0,0 +1,287 @@
+package com.example.backend.service;
+
+import com.example.backend.config.AccessLogConfig;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Structured access log, one JSON object per line. Request threads only sample,
+// copy a few fields into an Entry and claim a slot in a bounded ring with one
+// CAS; a single background thread formats and writes. A full ring drops the
+// entry rather than slowing the request down (counted as access.log.entries
+// {result=dropped}).
+@Service
+public class AccessLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessLog.class);
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+
+    static final class Entry {
+        final long timestamp;
+        final String method;
+        final String path;
+        final String route;
+        final int status;
+        final long durationMicros;
+        final Object userId;
+        final Object role;
+        final String ip;
+        final boolean async;
+
+        Entry(long timestamp, String method, String path, String route, int status, long durationMicros,
+              Object userId, Object role, String ip, boolean async) {
+            this.timestamp = timestamp;
+            this.method = method;
+            this.path = path;
+            this.route = route;
+            this.status = status;
+            this.durationMicros = durationMicros;
+            this.userId = userId;
+            this.role = role;
+            this.ip = ip;
+            this.async = async;
+        }
+    }
+
+    private final AccessLogConfig config;
+    private final List<AccessLogConfig.Route> routes;
+
+    // Multi-producer, single-consumer ring. tail is the next sequence to claim;
+    // head the next one the writer reads, and only the writer moves it.
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    public AccessLog(AccessLogConfig config) {
+        this.config = config;
+        this.routes = new ArrayList<>(config.getRoutes().values());
+        int capacity = Integer.highestOneBit(Math.max(2, config.getBufferSize()) * 2 - 1);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    @PostConstruct
+    public void start() {
+        FunctionCounter.builder("access.log.entries", written, LongAdder::sum).tag("result", "written").register(meterRegistry);
+        FunctionCounter.builder("access.log.entries", dropped, LongAdder::sum).tag("result", "dropped").register(meterRegistry);
+        FunctionCounter.builder("access.log.entries", sampledOut, LongAdder::sum).tag("result", "sampled_out").register(meterRegistry);
+
+        if (!config.isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Lets the writer empty the ring before the JVM goes down
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(2000);
+        }
+    }
+
+    public void record(HttpServletRequest request, HttpServletResponse response, long startNanos, boolean async) {
+        if (!running) {
+            return;
+        }
+        int status = response.getStatus();
+        if (status < 400 && !sampled(request)) {
+            sampledOut.increment();
+            return;
+        }
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Entry entry = new Entry(
+                System.currentTimeMillis(),
+                request.getMethod(),
+                request.getRequestURI(),
+                route != null ? route.toString() : null,
+                status,
+                (System.nanoTime() - startNanos) / 1000,
+                request.getAttribute("userId"),
+                request.getAttribute("userRole"),
+                request.getRemoteAddr(),
+                async
+        );
+        if (!offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private boolean sampled(HttpServletRequest request) {
+        double rate = config.getDefaultSampleRate();
+        for (AccessLogConfig.Route route : routes) {
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && PATHS.match(route.getPath(), request.getRequestURI())) {
+                rate = route.getSampleRate();
+                break;
+            }
+        }
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    boolean offer(Entry entry) {
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+        slots.set((int) seq & mask, entry);
+        return true;
+    }
+
+    // Writer thread only. The slot is cleared before head moves past it, so a
+    // producer that sees the new head always finds its slot empty.
+    Entry poll() {
+        int index = (int) head & mask;
+        Entry entry = slots.get(index);
+        if (entry == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head = head + 1;
+        return entry;
+    }
+
+    private void drain() {
+        Path file = Paths.get(config.getFile()).toAbsolutePath();
+        long maxBytes = config.getMaxFileSizeMb() * 1024L * 1024L;
+        StringBuilder line = new StringBuilder(256);
+        Writer out = null;
+        long size = 0;
+        boolean dirty = false;
+
+        while (running || head != tail.get()) {
+            try {
+                if (out == null) {
+                    Files.createDirectories(file.getParent());
+                    out = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    size = Files.size(file);
+                }
+
+                Entry entry = poll();
+                if (entry == null) {
+                    if (dirty) {
+                        out.flush();
+                        dirty = false;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+
+                line.setLength(0);
+                format(entry, line);
+                out.append(line);
+                size += line.length();
+                dirty = true;
+                written.increment();
+
+                if (size >= maxBytes) {
+                    out.close();
+                    out = null;
+                    Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                // Keep serving requests; retry opening the file after a pause
+                log.warn("Access log write to {} failed: {}", file, e.toString());
+                closeQuietly(out);
+                out = null;
+                LockSupport.parkNanos(1_000_000_000L);
+            }
+        }
+        closeQuietly(out);
+    }
+
+    static void format(Entry entry, StringBuilder line) {
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(entry.timestamp)).append('"');
+        line.append(",\"method\":");
+        string(line, entry.method);
+        line.append(",\"path\":");
+        string(line, entry.path);
+        if (entry.route != null) {
+            line.append(",\"route\":");
+            string(line, entry.route);
+        }
+        line.append(",\"status\":").append(entry.status);
+        line.append(",\"durationUs\":").append(entry.durationMicros);
+        if (entry.userId != null) {
+            line.append(",\"userId\":").append(entry.userId);
+        }
+        if (entry.role != null) {
+            line.append(",\"role\":");
+            string(line, entry.role.toString());
+        }
+        line.append(",\"ip\":");
+        string(line, entry.ip);
+        if (entry.async) {
+            line.append(",\"async\":true");
+        }
+        line.append("}\n");
+    }
+
+    private static void string(StringBuilder line, String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        JsonStringEncoder.getInstance().quoteAsString(value, line);
+        line.append('"');
+    }
+
+    private static void closeQuietly(Writer out) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Nothing left to do with it
+        }
+    }
+}
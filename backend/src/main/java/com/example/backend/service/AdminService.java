@@ -1,14 +1,30 @@
 package com.example.backend.service;
 
-import com.example.backend.entity.Bookings;
+import com.example.backend.dto.BookingSummary;
+import com.example.backend.dto.UserDTO;
 import com.example.backend.entity.Role;
 import com.example.backend.entity.User;
 import com.example.backend.repository.BookingRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class AdminService {
@@ -19,8 +35,29 @@ public class AdminService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<Bookings> getAllBookings() {
-        return bookingRepository.findAll();
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private QrImageService qrImageService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public static final int DEFAULT_PAGE_LIMIT = 50;
+    public static final int MAX_PAGE_LIMIT = 500;
+
+    public List<BookingSummary> getAllBookings() {
+        return bookingRepository.findAllSummaries();
     }
 
     public List<User> getAllUsers() {
@@ -30,4 +67,84 @@ public class AdminService {
     public List<User> getUsersByRole(String role) {
         return userRepository.findByRole(Role.valueOf(role));
     }
-}
\ No newline at end of file
+
+    // Newest bookings first; pass the previous page's nextCursor as "after"
+    public Map<String, Object> getBookingsPage(Long after, Integer limit) {
+        int size = pageLimit(limit);
+        List<BookingSummary> rows = bookingRepository.findSummariesBefore(
+                after == null ? Long.MAX_VALUE : after, PageRequest.of(0, size + 1));
+        return page("bookings", rows, size, BookingSummary::getId);
+    }
+
+    // Users in id order, optionally only one role
+    public Map<String, Object> getUsersPage(String role, Long after, Integer limit) {
+        int size = pageLimit(limit);
+        long from = after == null ? 0L : after;
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        List<UserDTO> rows = role == null
+                ? userRepository.findSummariesAfter(from, pageRequest)
+                : userRepository.findSummariesByRoleAfter(Role.valueOf(role), from, pageRequest);
+        return page("users", rows, size, UserDTO::getId);
+    }
+
+    // NDJSON straight from a forward-only cursor: rows are projections, not
+    // entities, so nothing piles up in the persistence context
+    @Transactional(readOnly = true)
+    public void streamBookings(OutputStream out) throws IOException {
+        try (Stream<BookingSummary> rows = bookingRepository.streamAllSummaries()) {
+            writeNdjson(rows, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamUsers(String role, OutputStream out) throws IOException {
+        try (Stream<UserDTO> rows = role == null
+                ? userRepository.streamSummaries()
+                : userRepository.streamSummariesByRole(Role.valueOf(role))) {
+            writeNdjson(rows, out);
+        }
+    }
+
+    private void writeNdjson(Stream<?> rows, OutputStream out) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(out, 16 * 1024);
+        Iterator<?> it = rows.iterator();
+        while (it.hasNext()) {
+            buffer.write(objectMapper.writeValueAsBytes(it.next()));
+            buffer.write('\n');
+        }
+        buffer.flush();
+    }
+
+    private static int pageLimit(Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_LIMIT : limit;
+        if (size < 1 || size > MAX_PAGE_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        return size;
+    }
+
+    // Rows were fetched with one extra to tell whether another page exists
+    private static <T> Map<String, Object> page(String key, List<T> rows, int size, Function<T, Long> id) {
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put(key, items);
+        response.put("limit", size);
+        response.put("hasNext", hasNext);
+        response.put("nextCursor", hasNext ? id.apply(items.get(items.size() - 1)) : null);
+        return response;
+    }
+
+    // Hit/miss counters of the in-process caches, keyed by cache name
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("verifiedTokens", jwtService.getCacheStats());
+        stats.put("qrImages", qrImageService.getCacheStats());
+        stats.putAll(eventService.getCacheStats());
+        stats.put("idempotencyKeys", idempotencyService.getStats());
+        stats.put("invalidationBus", cacheInvalidationBus.getStats());
+        return stats;
+    }
+}
@@ -11,14 +11,20 @@ import com.example.backend.exception.InvalidPasswordException;
 import com.example.backend.exception.UserNotFoundException;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.security.JwtService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -28,14 +34,37 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public AuthResponse login(LoginRequest loginRequest) {
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    // The password check runs on the hashing pool; the request thread is released meanwhile
+    @Timed(value = "auth.login", percentiles = {0.5, 0.99})
+    public CompletableFuture<AuthResponse> login(LoginRequest loginRequest) {
         User user = userRepository.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-            throw new InvalidPasswordException("Wrong password");
+        return passwordHasher.submit(() -> {
+            if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+                throw new InvalidPasswordException("Wrong password");
+            }
+            rehashIfWeaker(user, loginRequest.getPassword());
+            return authResponse(user);
+        });
+    }
+
+    // The only moment the plain password is at hand, so the one chance to raise the work factor
+    private void rehashIfWeaker(User user, String rawPassword) {
+        try {
+            if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+                userRepository.updatePassword(user.getId(), passwordEncoder.encode(rawPassword));
+            }
+        } catch (RuntimeException e) {
+            // The login itself succeeded; try again next time
+            log.warn("Could not rehash password for user {}", user.getId(), e);
         }
+    }
 
+    private AuthResponse authResponse(User user) {
         // ✅ Make sure role is included in token
         String token = jwtService.createToken(
                 user.getId(),
@@ -54,20 +83,25 @@ public class AuthService {
     }
 
 
-    public AuthResponse register(RegisterRequest registerRequest) {
+    public CompletableFuture<AuthResponse> register(RegisterRequest registerRequest) {
 
         // Check if email already exists
         if (userRepository.existsByEmail(registerRequest.getEmail())) {
             throw new EmailAlreadyExistException("Email already registered");
         }
 
+        // Encrypt password on the hashing pool, then save from there
+        return passwordHasher.encode(registerRequest.getPassword())
+                .thenApply(encoded -> createUser(registerRequest, encoded));
+    }
+
+    private AuthResponse createUser(RegisterRequest registerRequest, String encodedPassword) {
+
         // Create new user
         User user = new User();
         user.setName(registerRequest.getName());
         user.setEmail(registerRequest.getEmail());
-
-        // Encrypt password
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setPassword(encodedPassword);
 
         // Set role
         try {
@@ -0,0 +1,273 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BookingQueueConfig;
+import com.example.backend.exception.SoldOutException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Waiting room for high-demand on-sales. Bookings for events in queue mode are
+// accepted straight away with a token, put on one FIFO, and booked by a fixed
+// set of workers in small batches (one transaction per batch). However many
+// people are waiting, at most booking.queue.workers booking transactions run at
+// once. Clients poll GET /api/booking/queue/{token} for the outcome.
+// Queued requests live in memory: a restart drops the ones not yet booked.
+@Service
+public class BookingQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingQueueService.class);
+
+    public enum Status { QUEUED, PROCESSING, CONFIRMED, REJECTED }
+
+    public static final class QueuedBooking {
+        private final String token = UUID.randomUUID().toString();
+        private final Long userId;
+        private final Long eventId;
+        private final int ticketCount;
+        private final long position;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private volatile Status status = Status.QUEUED;
+        private volatile Long bookingId;
+        private volatile int httpStatus;
+        private volatile String message;
+        private volatile long finishedAt;
+
+        QueuedBooking(Long userId, Long eventId, int ticketCount, long position) {
+            this.userId = userId;
+            this.eventId = eventId;
+            this.ticketCount = ticketCount;
+            this.position = position;
+        }
+
+        public Long getUserId() { return userId; }
+        public Long getEventId() { return eventId; }
+        public int getTicketCount() { return ticketCount; }
+
+        void confirm(Long bookingId) {
+            this.bookingId = bookingId;
+            finish(Status.CONFIRMED, 200, "Booking done successfully!");
+        }
+
+        void reject(int httpStatus, String message) {
+            finish(Status.REJECTED, httpStatus, message);
+        }
+
+        private void finish(Status status, int httpStatus, String message) {
+            this.httpStatus = httpStatus;
+            this.message = message;
+            this.finishedAt = System.currentTimeMillis();
+            this.status = status;
+            done.complete(null);
+        }
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventInventoryService eventInventoryService;
+
+    private final BookingQueueConfig config;
+    private final BlockingQueue<QueuedBooking> queue;
+    private final Map<String, QueuedBooking> requests = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    // Positions: requests ever enqueued, and ever taken by a worker (guarded by "this" for enqueue)
+    private long enqueued;
+    private final AtomicLong taken = new AtomicLong();
+
+    private final LongAdder confirmed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public BookingQueueService(BookingQueueConfig config) {
+        this.config = config;
+        this.queue = new LinkedBlockingQueue<>(config.getCapacity());
+    }
+
+    @PostConstruct
+    public void startWorkers() {
+        for (int i = 0; i < config.getWorkers(); i++) {
+            Thread worker = new Thread(this::drain, "booking-queue-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    // Served from the event cache, so deciding costs no query on the hot path
+    public boolean isQueued(Long eventId) {
+        try {
+            return Boolean.TRUE.equals(eventService.getEventById(eventId).getQueueMode());
+        } catch (RuntimeException e) {
+            // Unknown event: let the direct path report it
+            return false;
+        }
+    }
+
+    public Map<String, Object> enqueue(Long userId, Long eventId, int ticketCount) {
+        if (ticketCount <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ticket count must be at least 1");
+        }
+        // No point queueing for seats that are already gone
+        Object remaining = eventInventoryService.getAvailability(eventId).get("remaining");
+        if (remaining != null && (Integer) remaining < ticketCount) {
+            throw new SoldOutException("Not enough tickets left for this event");
+        }
+
+        QueuedBooking request;
+        synchronized (this) {
+            request = new QueuedBooking(userId, eventId, ticketCount, enqueued + 1);
+            requests.put(request.token, request);
+            if (!queue.offer(request)) {
+                requests.remove(request.token);
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "The waiting room is full, please try again shortly");
+            }
+            enqueued++;
+        }
+        return view(request);
+    }
+
+    // Completes when the request is finished or after waitSeconds, whichever comes first
+    public CompletableFuture<Map<String, Object>> poll(String token, Long userId, int waitSeconds) {
+        QueuedBooking request = requests.get(token);
+        if (request == null || !request.userId.equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired queue token");
+        }
+
+        int wait = Math.max(0, Math.min(waitSeconds, config.getMaxWaitSeconds()));
+        if (wait == 0 || request.done.isDone()) {
+            return CompletableFuture.completedFuture(view(request));
+        }
+        return request.done.copy()
+                .completeOnTimeout(null, wait, TimeUnit.SECONDS)
+                .thenApply(ignored -> view(request));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("waiting", queue.size());
+        stats.put("capacity", config.getCapacity());
+        stats.put("workers", config.getWorkers());
+        stats.put("batchSize", config.getBatchSize());
+        stats.put("tracked", requests.size());
+        stats.put("confirmed", confirmed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("batches", batches.sum());
+        return stats;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeFinished() {
+        long cutoff = System.currentTimeMillis() - config.getResultTtlSeconds() * 1000L;
+        requests.values().removeIf(r -> r.done.isDone() && r.finishedAt < cutoff);
+    }
+
+    private void drain() {
+        List<QueuedBooking> batch = new ArrayList<>(config.getBatchSize());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, config.getBatchSize() - 1);
+            taken.addAndGet(batch.size());
+            batch.forEach(r -> r.status = Status.PROCESSING);
+
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<QueuedBooking> batch) {
+        try {
+            complete(batch, bookingService.bookBatch(batch));
+            batches.increment();
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            // Something in the batch broke the commit (e.g. a stale seat count);
+            // retry one at a time so only the request at fault is rejected
+            for (QueuedBooking request : batch) {
+                process(List.of(request));
+            }
+        }
+    }
+
+    private void complete(List<QueuedBooking> batch, List<Long> bookingIds) {
+        for (int i = 0; i < batch.size(); i++) {
+            Long bookingId = bookingIds.get(i);
+            if (bookingId != null) {
+                batch.get(i).confirm(bookingId);
+                confirmed.increment();
+            } else {
+                batch.get(i).reject(409, "Not enough tickets left for this event");
+                rejected.increment();
+            }
+        }
+    }
+
+    private void fail(QueuedBooking request, RuntimeException e) {
+        if (e instanceof SoldOutException) {
+            request.reject(409, e.getMessage());
+        } else if (e instanceof ResponseStatusException status) {
+            request.reject(status.getStatusCode().value(), status.getReason());
+        } else {
+            // The message may carry SQL or internals; the poller only gets a generic one
+            log.error("Queued booking {} for event {} failed", request.token, request.eventId, e);
+            request.reject(500, "Booking failed, please try again");
+        }
+        rejected.increment();
+    }
+
+    private Map<String, Object> view(QueuedBooking request) {
+        Map<String, Object> view = new HashMap<>();
+        view.put("token", request.token);
+        view.put("eventId", request.eventId);
+        view.put("totalTickets", request.ticketCount);
+
+        Status status = request.status;
+        view.put("status", status);
+        if (status == Status.QUEUED) {
+            // Place in line, 1 = next to be booked
+            view.put("position", Math.max(1, request.position - taken.get()));
+        } else if (status == Status.CONFIRMED || status == Status.REJECTED) {
+            view.put("bookingId", request.bookingId);
+            view.put("httpStatus", request.httpStatus);
+            view.put("message", request.message);
+        }
+        return view;
+    }
+}
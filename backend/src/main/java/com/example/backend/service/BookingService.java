@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.BookingSummary;
 import com.example.backend.entity.Bookings;
 import com.example.backend.entity.Events;
 import com.example.backend.entity.Tickets;
@@ -8,10 +9,14 @@ import com.example.backend.repository.BookingRepository;
 import com.example.backend.repository.EventRepository;
 import com.example.backend.repository.TicketRepository;
 import com.example.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,8 +35,22 @@ public class BookingService {
     @Autowired
     private TicketRepository ticketRepository;
 
+    @Autowired
+    private EventInventoryService eventInventoryService;
+
+    @Autowired
+    private QrImageService qrImageService;
+
+    @Timed(value = "booking.book", percentiles = {0.5, 0.99})
     @Transactional
     public String bookEvent(Long userId, Long eventId, int ticketCount) {
+        if (ticketCount <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ticket count must be at least 1");
+        }
+
+        // Rejects sold-out requests before any DB work
+        eventInventoryService.reserve(eventId, ticketCount);
+
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -48,8 +67,32 @@ public class BookingService {
         return "Booking done successfully!";
     }
 
-    public List<Bookings> getBookingsByUser(Long userId) {
-        return bookingRepository.findByUserId(userId);
+    // Books a batch of queued requests in one transaction. Returns the new booking
+    // id per request, or null where the event has no seats left for it; those
+    // don't affect the rest of the batch.
+    @Transactional
+    public List<Long> bookBatch(List<BookingQueueService.QueuedBooking> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (BookingQueueService.QueuedBooking request : batch) {
+            if (!eventInventoryService.tryReserve(request.getEventId(), request.getTicketCount())) {
+                ids.add(null);
+                continue;
+            }
+
+            // The user comes from a verified token and the event from the inventory
+            // lookup above, so references are enough; the inserts go out as one JDBC batch
+            Bookings booking = new Bookings();
+            booking.setUser(userRepository.getReferenceById(request.getUserId()));
+            booking.setEvent(eventRepository.getReferenceById(request.getEventId()));
+            booking.setTotalTickets(request.getTicketCount());
+            booking.setQrGenerated(false);
+            ids.add(bookingRepository.save(booking).getId());
+        }
+        return ids;
+    }
+
+    public List<BookingSummary> getBookingsByUser(Long userId) {
+        return bookingRepository.findSummariesByUserId(userId);
     }
 
     @Transactional
@@ -61,6 +104,7 @@ public class BookingService {
             throw new RuntimeException("You can only delete your own bookings");
         }
 
+        eventInventoryService.release(booking.getEvent().getId(), booking.getTotalTickets());
         bookingRepository.delete(booking);
     }
 
@@ -70,4 +114,11 @@ public class BookingService {
                 .map(Tickets::getQrCode)
                 .collect(Collectors.toList());
     }
+
+    public QrImageService.Image getTicketImage(Long bookingId, int ticketNumber, Long userId,
+                                               QrImageService.Format format, int size) {
+        String qrCode = ticketRepository.findOwnedQrCode(bookingId, ticketNumber, userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket not found"));
+        return qrImageService.render(qrCode, format, size);
+    }
 }
\ No newline at end of file
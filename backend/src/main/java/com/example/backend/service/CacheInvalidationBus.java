@@ -0,0 +1,336 @@
+package com.example.backend.service;
+
+import com.example.backend.config.CacheBusConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// Tells the other instances which cached entries to drop, over Postgres
+// LISTEN/NOTIFY. Writers evict their own caches as before and publish(topic, id);
+// every other instance hears it on a dedicated connection and runs the
+// listeners subscribed to that topic. A notification is "<node> <topic> <id>",
+// id "*" meaning everything in the topic. publishDelta(topic, id, n) sends
+// "<node> <topic> <id> <n>" instead, for counters peers can adjust in place.
+//
+// Notifications sent while a listener is disconnected are lost, so after a
+// reconnect every listener is called with a null id: flush it all and reload.
+@Service
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    public static final String EVENTS = "events";
+    public static final String INVENTORY = "inventory";
+
+    private static final String ALL = "*";
+
+    private final CacheBusConfig config;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Tells our own notifications apart from other instances' (LISTEN hears both)
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<Long>>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, List<BiConsumer<Long, Integer>>> deltaListeners = new ConcurrentHashMap<>();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+
+    private Thread listenerThread;
+    private volatile boolean running;
+    private volatile boolean connected;
+
+    public CacheInvalidationBus(CacheBusConfig config, DataSource dataSource) {
+        this.config = config;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-bus-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // The listener notices within pollMillis and hands its connection back itself
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread.join(config.getPollMillis() + 2000L);
+        }
+    }
+
+    // Called with the id that changed, or null when everything in the topic may be stale
+    public void subscribe(String topic, Consumer<Long> listener) {
+        listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    // Called with the id and the summed delta another instance committed
+    public void subscribeDelta(String topic, BiConsumer<Long, Integer> listener) {
+        deltaListeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    // Inside a transaction the notification goes out once it commits, and not at
+    // all if it rolls back; repeats within one transaction are sent once
+    public void publish(String topic, Long id) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        String payload = nodeId + " " + topic + " " + (id == null ? ALL : id);
+        Batch batch = currentBatch();
+        if (batch == null) {
+            sendNow(List.of(payload));
+        } else {
+            batch.invalidations.add(payload);
+        }
+    }
+
+    // Deltas for the same id within one transaction are summed into one notification
+    public void publishDelta(String topic, Long id, int delta) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Batch batch = currentBatch();
+        if (batch == null) {
+            sendNow(List.of(nodeId + " " + topic + " " + id + " " + delta));
+        } else {
+            batch.deltas.merge(topic + " " + id, delta, Integer::sum);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("connected", connected);
+        stats.put("published", published.sum());
+        stats.put("received", received.sum());
+        stats.put("reconnects", reconnects.sum());
+        return stats;
+    }
+
+    // Null outside a transaction. Publish from the transaction body: a batch first
+    // opened from another synchronization's beforeCommit would never be sent.
+    private Batch currentBatch() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Batch batch = (Batch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            Batch created = new Batch();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // NOTIFY inside the transaction is held by Postgres until it
+                // commits and dropped if it rolls back, so no second connection
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    send(created.payloads());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+            batch = created;
+        }
+        return batch;
+    }
+
+    // On the transaction's connection when there is one, otherwise a pooled one in autocommit
+    private void send(List<String> payloads) {
+        for (String payload : payloads) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { }, config.getChannel(), payload);
+            published.increment();
+        }
+    }
+
+    private void sendNow(List<String> payloads) {
+        try {
+            send(payloads);
+        } catch (DataAccessException e) {
+            // The other instances' caches fall back on their TTLs
+            log.warn("Could not publish cache invalidation {}: {}", payloads, e.toString());
+        }
+    }
+
+    private void listen() {
+        long delay = config.getReconnectDelayMillis();
+        boolean firstConnect = true;
+        while (running) {
+            Connection connection = null;
+            try {
+                connection = dataSource.getConnection();
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + quoteIdentifier(config.getChannel()));
+                }
+                connected = true;
+                delay = config.getReconnectDelayMillis();
+
+                // Listening again; whatever was published in the gap is unknown
+                if (!firstConnect) {
+                    reconnects.increment();
+                    dispatchAll();
+                }
+                firstConnect = false;
+
+                receive(connection.unwrap(PGConnection.class), connection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection, retrying in {} ms: {}", delay, e.toString());
+                }
+            } finally {
+                connected = false;
+                release(connection);
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                delay = Math.min(delay * 2, config.getMaxReconnectDelayMillis());
+            }
+        }
+    }
+
+    private void receive(PGConnection pg, Connection connection) throws SQLException {
+        long keepaliveNanos = config.getKeepaliveSeconds() * 1_000_000_000L;
+        long lastHeard = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications = pg.getNotifications(config.getPollMillis());
+            if (notifications != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    dispatch(notification.getParameter());
+                }
+                lastHeard = System.nanoTime();
+            } else if (System.nanoTime() - lastHeard > keepaliveNanos) {
+                // A half-open TCP connection only shows up when we send something
+                if (!connection.isValid(5)) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+                lastHeard = System.nanoTime();
+            }
+        }
+    }
+
+    void dispatch(String payload) {
+        String[] parts = payload.split(" ", 4);
+        if (parts.length < 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        received.increment();
+        try {
+            if (parts.length == 4) {
+                notifyDelta(deltaListeners.get(parts[1]), Long.valueOf(parts[2]), Integer.valueOf(parts[3]));
+            } else {
+                notify(listeners.get(parts[1]), ALL.equals(parts[2]) ? null : Long.valueOf(parts[2]));
+            }
+        } catch (NumberFormatException e) {
+            // Not one of ours
+        }
+    }
+
+    private void dispatchAll() {
+        listeners.values().forEach(topicListeners -> notify(topicListeners, null));
+    }
+
+    private static void notify(List<Consumer<Long>> topicListeners, Long id) {
+        if (topicListeners == null) {
+            return;
+        }
+        for (Consumer<Long> listener : topicListeners) {
+            try {
+                listener.accept(id);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener failed for id {}", id, e);
+            }
+        }
+    }
+
+    private static void notifyDelta(List<BiConsumer<Long, Integer>> topicListeners, Long id, int delta) {
+        if (topicListeners == null) {
+            return;
+        }
+        for (BiConsumer<Long, Integer> listener : topicListeners) {
+            try {
+                listener.accept(id, delta);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener failed for id {}", id, e);
+            }
+        }
+    }
+
+    private static String quoteIdentifier(String name) {
+        return "\"" + name.replace("\"", "\"\"") + "\"";
+    }
+
+    // One transaction's notifications, sent just before it commits
+    private class Batch {
+        private final Set<String> invalidations = new LinkedHashSet<>();
+        private final Map<String, Integer> deltas = new LinkedHashMap<>();
+
+        private List<String> payloads() {
+            List<String> payloads = new ArrayList<>(invalidations);
+            deltas.forEach((key, delta) -> {
+                if (delta != 0) {
+                    payloads.add(nodeId + " " + key + " " + delta);
+                }
+            });
+            return payloads;
+        }
+    }
+
+    // Back to the pool, which must not get it while it is still subscribed
+    private static void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException ignored) {
+            // Broken connection; the pool discards it
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Already gone
+        }
+    }
+}
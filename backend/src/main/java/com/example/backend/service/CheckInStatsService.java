@@ -0,0 +1,277 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live door numbers per event, kept in memory by the scan path and pushed to
+// dashboard watchers over SSE. One broadcaster builds each event's snapshot at
+// most once a second and sends the same JSON to every watcher, so the number
+// of watchers never reaches the database. Counts cover this instance since it started.
+// The broadcaster has its own thread, so a slow watcher can't hold up other scheduled jobs.
+@Service
+public class CheckInStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckInStatsService.class);
+
+    public enum Outcome { ADMITTED, DUPLICATE, INVALID }
+
+    private static final int MINUTES_SHOWN = 15;
+    private static final long HEARTBEAT_MILLIS = 15_000;
+    private static final long EMITTER_TIMEOUT_MILLIS = 30 * 60_000;
+
+    // Scans per outcome for each of the last 60 minutes, slot = minute % 60.
+    // A slot is claimed for a new minute with a CAS and then zeroed; a scan landing
+    // between the two can be lost, which is fine for a dashboard.
+    static final class MinuteRing {
+        private static final int SLOTS = 60;
+        private static final int OUTCOMES = Outcome.values().length;
+
+        private final AtomicLongArray minutes = new AtomicLongArray(SLOTS);
+        private final AtomicLongArray counts = new AtomicLongArray(SLOTS * OUTCOMES);
+
+        void record(long minute, Outcome outcome) {
+            int slot = (int) (minute % SLOTS);
+            long seen = minutes.get(slot);
+            if (seen != minute && minutes.compareAndSet(slot, seen, minute)) {
+                for (int i = 0; i < OUTCOMES; i++) {
+                    counts.set(slot * OUTCOMES + i, 0);
+                }
+            }
+            counts.incrementAndGet(slot * OUTCOMES + outcome.ordinal());
+        }
+
+        long count(long minute, Outcome outcome) {
+            int slot = (int) (minute % SLOTS);
+            return minutes.get(slot) == minute ? counts.get(slot * OUTCOMES + outcome.ordinal()) : 0;
+        }
+    }
+
+    private static final class EventStats {
+        final LongAdder[] totals = {new LongAdder(), new LongAdder(), new LongAdder()};
+        final MinuteRing minutes = new MinuteRing();
+        final Map<Long, CheckerStats> checkers = new ConcurrentHashMap<>();
+        final AtomicLong version = new AtomicLong();
+
+        final List<SseEmitter> watchers = new CopyOnWriteArrayList<>();
+        long pushedVersion = -1;
+        long pushedAt;
+    }
+
+    private static final class CheckerStats {
+        final LongAdder[] totals = {new LongAdder(), new LongAdder(), new LongAdder()};
+        final MinuteRing minutes = new MinuteRing();
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final Map<Long, EventStats> events = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService broadcaster = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "checkin-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        broadcaster.scheduleWithFixedDelay(() -> {
+            try {
+                broadcast();
+            } catch (RuntimeException e) {
+                // An exception would cancel the schedule
+                log.warn("Check-in broadcast failed", e);
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        broadcaster.shutdownNow();
+    }
+
+    // Called from the scan path: a few atomic increments, no I/O
+    public void record(Long eventId, Long checkerId, Outcome outcome) {
+        if (eventId == null) {
+            return;
+        }
+        long minute = currentMinute();
+
+        EventStats stats = events.computeIfAbsent(eventId, id -> new EventStats());
+        stats.totals[outcome.ordinal()].increment();
+        stats.minutes.record(minute, outcome);
+
+        if (checkerId != null) {
+            CheckerStats checker = stats.checkers.computeIfAbsent(checkerId, id -> new CheckerStats());
+            checker.totals[outcome.ordinal()].increment();
+            checker.minutes.record(minute, outcome);
+        }
+        stats.version.incrementAndGet();
+    }
+
+    public SseEmitter subscribe(Long eventId) {
+        EventStats stats = events.get(eventId);
+        if (stats == null) {
+            requireEvent(eventId);
+            stats = events.computeIfAbsent(eventId, id -> new EventStats());
+        }
+        EventStats watched = stats;
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+
+        emitter.onCompletion(() -> watched.watchers.remove(emitter));
+        emitter.onTimeout(() -> watched.watchers.remove(emitter));
+        emitter.onError(e -> watched.watchers.remove(emitter));
+        stats.watchers.add(emitter);
+
+        // New watchers get the current numbers straight away
+        send(emitter, stats, toJson(snapshot(eventId, stats)));
+        return emitter;
+    }
+
+    // An event nobody has scanned for yet reads as all zeros, without keeping an entry
+    public Map<String, Object> getSnapshot(Long eventId) {
+        EventStats stats = events.get(eventId);
+        if (stats == null) {
+            requireEvent(eventId);
+            stats = new EventStats();
+        }
+        return snapshot(eventId, stats);
+    }
+
+    // The event is gone; its watchers are closed
+    public void remove(Long eventId) {
+        EventStats stats = events.remove(eventId);
+        if (stats != null) {
+            stats.watchers.forEach(SseEmitter::complete);
+        }
+    }
+
+    void broadcast() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, EventStats> entry : events.entrySet()) {
+            EventStats stats = entry.getValue();
+            if (stats.watchers.isEmpty()) {
+                continue;
+            }
+
+            long version = stats.version.get();
+            boolean changed = version != stats.pushedVersion;
+            if (!changed && now - stats.pushedAt < HEARTBEAT_MILLIS) {
+                continue;
+            }
+
+            String json = toJson(snapshot(entry.getKey(), stats));
+            for (SseEmitter emitter : stats.watchers) {
+                send(emitter, stats, json);
+            }
+            stats.pushedVersion = version;
+            stats.pushedAt = now;
+        }
+    }
+
+    private void requireEvent(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
+        }
+    }
+
+    private Map<String, Object> snapshot(Long eventId, EventStats stats) {
+        long minute = currentMinute();
+
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("eventId", eventId);
+        snapshot.put("at", Instant.now().toString());
+        snapshot.put("watchers", stats.watchers.size());
+        snapshot.put("totals", outcomes(stats.totals));
+
+        // Oldest first, current (partial) minute last
+        List<Map<String, Object>> perMinute = new ArrayList<>(MINUTES_SHOWN);
+        for (long m = minute - MINUTES_SHOWN + 1; m <= minute; m++) {
+            Map<String, Object> bucket = outcomes(stats.minutes, m);
+            bucket.put("minute", Instant.ofEpochSecond(m * 60).toString());
+            perMinute.add(bucket);
+        }
+        snapshot.put("perMinute", perMinute);
+
+        // Last complete minute, the figure ops compare against gate capacity
+        snapshot.put("lastMinute", outcomes(stats.minutes, minute - 1));
+
+        List<Map<String, Object>> checkers = new ArrayList<>();
+        stats.checkers.forEach((checkerId, checker) -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("checkerId", checkerId);
+            row.put("totals", outcomes(checker.totals));
+            row.put("lastMinute", outcomes(checker.minutes, minute - 1));
+            row.put("currentMinute", outcomes(checker.minutes, minute));
+            checkers.add(row);
+        });
+        snapshot.put("checkers", checkers);
+        return snapshot;
+    }
+
+    private static Map<String, Object> outcomes(LongAdder[] totals) {
+        Map<String, Object> counts = new HashMap<>();
+        counts.put("admitted", totals[Outcome.ADMITTED.ordinal()].sum());
+        counts.put("duplicate", totals[Outcome.DUPLICATE.ordinal()].sum());
+        counts.put("invalid", totals[Outcome.INVALID.ordinal()].sum());
+        return counts;
+    }
+
+    private static Map<String, Object> outcomes(MinuteRing ring, long minute) {
+        Map<String, Object> counts = new HashMap<>();
+        counts.put("admitted", ring.count(minute, Outcome.ADMITTED));
+        counts.put("duplicate", ring.count(minute, Outcome.DUPLICATE));
+        counts.put("invalid", ring.count(minute, Outcome.INVALID));
+        return counts;
+    }
+
+    private void send(SseEmitter emitter, EventStats stats, String json) {
+        try {
+            emitter.send(SseEmitter.event().name("checkins").data(json, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Watcher went away; the emitter's callbacks may not fire for a dead socket
+            stats.watchers.remove(emitter);
+        }
+    }
+
+    private String toJson(Map<String, Object> snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize check-in snapshot", e);
+        }
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+}
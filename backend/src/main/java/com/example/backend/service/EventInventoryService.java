@@ -0,0 +1,200 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Events;
+import com.example.backend.exception.SoldOutException;
+import com.example.backend.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory seat inventory. The counters decide on the hot path; Postgres is
+// kept in step with guarded UPDATEs that run just before the booking commits,
+// so the events row is only locked for the commit itself.
+@Service
+public class EventInventoryService {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CacheInvalidationBus cacheBus;
+
+    private final Map<Long, InventoryCounter> counters = new ConcurrentHashMap<>();
+
+    // Events without a capacity, remembered so we don't keep looking them up
+    private final Set<Long> unlimited = ConcurrentHashMap.newKeySet();
+
+    // A counter a recheck against the row must be older than, so a sold-out event
+    // costs at most one row read a second
+    private static final long RECHECK_MILLIS = 1000;
+
+    // Seats sold or freed on another instance move our counter by the same amount.
+    // A deleted event, or a flush after the bus reconnects, reloads from the row.
+    @PostConstruct
+    public void subscribe() {
+        cacheBus.subscribeDelta(CacheInvalidationBus.INVENTORY, (eventId, delta) -> {
+            InventoryCounter counter = counters.get(eventId);
+            if (counter != null) {
+                counter.adjust(delta);
+            }
+        });
+        cacheBus.subscribe(CacheInvalidationBus.INVENTORY, eventId -> {
+            if (eventId == null) {
+                counters.clear();
+                unlimited.clear();
+            } else {
+                evict(eventId);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCounters() {
+        for (Object[] row : eventRepository.findInventorySnapshot()) {
+            Long eventId = (Long) row[0];
+            Integer capacity = (Integer) row[1];
+            Integer remaining = (Integer) row[2];
+            counters.put(eventId, newCounter(capacity, remaining));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Long eventId, int count) {
+        if (!tryReserve(eventId, count)) {
+            throw new SoldOutException("Not enough tickets left for this event");
+        }
+    }
+
+    // Same as reserve, but reports a sell-out instead of throwing, so a transaction
+    // booking several requests at once isn't marked rollback-only by one of them
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryReserve(Long eventId, int count) {
+        InventoryCounter loaded = counterFor(eventId);
+        if (loaded == null) {
+            return true;
+        }
+
+        InventoryCounter counter = loaded.tryAcquire(count) ? loaded : recheck(eventId, loaded, count);
+        if (counter == null) {
+            return false;
+        }
+
+        // Sent with the commit; if the row guard below refuses, the rollback drops it
+        cacheBus.publishDelta(CacheInvalidationBus.INVENTORY, eventId, -count);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean dbRejected;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (eventRepository.reserveSeats(eventId, count) == 0) {
+                    // Another instance sold these seats; our counter is stale
+                    dbRejected = true;
+                    throw new SoldOutException("Not enough tickets left for this event");
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                if (dbRejected) {
+                    counters.remove(eventId, counter);
+                } else {
+                    counter.release(count);
+                }
+            }
+        });
+        return true;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long eventId, int count) {
+        InventoryCounter counter = counterFor(eventId);
+        if (counter == null || count <= 0) {
+            return;
+        }
+
+        if (eventRepository.releaseSeats(eventId, count) > 0) {
+            cacheBus.publishDelta(CacheInvalidationBus.INVENTORY, eventId, count);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.release(count);
+            }
+        });
+    }
+
+    public Map<String, Object> getAvailability(Long eventId) {
+        InventoryCounter counter = counterFor(eventId);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("eventId", eventId);
+        if (counter == null) {
+            response.put("capacity", null);
+            response.put("remaining", null);
+            response.put("soldOut", false);
+            return response;
+        }
+
+        int remaining = counter.getRemaining();
+        response.put("capacity", counter.getCapacity());
+        response.put("remaining", remaining);
+        response.put("soldOut", remaining <= 0);
+        return response;
+    }
+
+    public void evict(Long eventId) {
+        counters.remove(eventId);
+        unlimited.remove(eventId);
+    }
+
+    // A counter loaded while another instance's sale was still in flight counts
+    // that sale twice once its delta arrives. Before answering sold out, reload
+    // from the row and try once more. Returns the counter that took the seats.
+    private InventoryCounter recheck(Long eventId, InventoryCounter counter, int count) {
+        if (counter.getAgeMillis() < RECHECK_MILLIS) {
+            return null;
+        }
+        counters.remove(eventId, counter);
+        InventoryCounter reloaded = counterFor(eventId);
+        return reloaded != null && reloaded.tryAcquire(count) ? reloaded : null;
+    }
+
+    // Returns null for events with unlimited capacity
+    private InventoryCounter counterFor(Long eventId) {
+        InventoryCounter counter = counters.get(eventId);
+        if (counter != null || unlimited.contains(eventId)) {
+            return counter;
+        }
+
+        Events event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
+
+        if (event.getCapacity() == null) {
+            unlimited.add(eventId);
+            return null;
+        }
+        return counters.computeIfAbsent(eventId,
+                id -> newCounter(event.getCapacity(), event.getRemaining()));
+    }
+
+    private InventoryCounter newCounter(Integer capacity, Integer remaining) {
+        return new InventoryCounter(capacity, remaining != null ? remaining : capacity);
+    }
+}
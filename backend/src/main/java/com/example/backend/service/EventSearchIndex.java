@@ -0,0 +1,538 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Events;
+import com.example.backend.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Type-ahead search over event name, artist and location. Terms go into an
+// inverted index (term -> event -> weight) and a trie, so the last word of a
+// query can be matched as a prefix. Built at startup, then kept in step by
+// EventService after each create/delete commits.
+@Service
+public class EventSearchIndex {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int ARTIST_WEIGHT = 2;
+    private static final int LOCATION_WEIGHT = 1;
+
+    // How many completions a prefix may expand to; shortest terms are taken first
+    private static final int MAX_PREFIX_TERMS = 256;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final class Doc {
+        final long id;
+        final LocalDateTime startsAt;
+        final Map<String, Object> summary;
+        final Set<String> terms;
+
+        Doc(long id, LocalDateTime startsAt, Map<String, Object> summary, Set<String> terms) {
+            this.id = id;
+            this.startsAt = startsAt;
+            this.summary = summary;
+            this.terms = terms;
+        }
+    }
+
+    // Docs containing a term, kept sorted by rank so a single-word query only
+    // has to read the first few entries. Single changes copy the arrays; a
+    // rebuild appends everything first and sorts each posting once.
+    private static final class Posting {
+        final Map<Long, Integer> weights = new HashMap<>();
+        Doc[] ranked = new Doc[0];
+        int[] rankedWeights = new int[0];
+        List<Doc> unsorted;
+
+        void append(Doc doc, int weight) {
+            if (unsorted == null) {
+                unsorted = new ArrayList<>();
+            }
+            unsorted.add(doc);
+            weights.put(doc.id, weight);
+        }
+
+        void sort() {
+            if (unsorted == null) {
+                return;
+            }
+            Doc[] docs = unsorted.toArray(new Doc[0]);
+            Arrays.sort(docs, (a, b) -> compare(weights.get(a.id), a, weights.get(b.id), b));
+            int[] scores = new int[docs.length];
+            for (int i = 0; i < docs.length; i++) {
+                scores[i] = weights.get(docs[i].id);
+            }
+            ranked = docs;
+            rankedWeights = scores;
+            unsorted = null;
+        }
+
+        void insert(Doc doc, int weight) {
+            int lo = 0;
+            int hi = ranked.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(rankedWeights[mid], ranked[mid], weight, doc) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+
+            Doc[] docs = new Doc[ranked.length + 1];
+            int[] scores = new int[ranked.length + 1];
+            System.arraycopy(ranked, 0, docs, 0, lo);
+            System.arraycopy(rankedWeights, 0, scores, 0, lo);
+            docs[lo] = doc;
+            scores[lo] = weight;
+            System.arraycopy(ranked, lo, docs, lo + 1, ranked.length - lo);
+            System.arraycopy(rankedWeights, lo, scores, lo + 1, ranked.length - lo);
+
+            weights.put(doc.id, weight);
+            ranked = docs;
+            rankedWeights = scores;
+        }
+
+        void delete(long id) {
+            if (weights.remove(id) == null) {
+                return;
+            }
+            int at = 0;
+            while (ranked[at].id != id) {
+                at++;
+            }
+
+            Doc[] docs = new Doc[ranked.length - 1];
+            int[] scores = new int[ranked.length - 1];
+            System.arraycopy(ranked, 0, docs, 0, at);
+            System.arraycopy(rankedWeights, 0, scores, 0, at);
+            System.arraycopy(ranked, at + 1, docs, at, docs.length - at);
+            System.arraycopy(rankedWeights, at + 1, scores, at, scores.length - at);
+
+            ranked = docs;
+            rankedWeights = scores;
+        }
+    }
+
+    // Walks one term's ranked docs during a single-word search
+    private static final class Cursor {
+        final Posting posting;
+        final int factor;
+        int position;
+
+        Cursor(Posting posting, int factor) {
+            this.posting = posting;
+            this.factor = factor;
+        }
+
+        Doc doc() { return posting.ranked[position]; }
+        int score() { return posting.rankedWeights[position] * factor; }
+    }
+
+    private static final class TrieNode {
+        final Map<Character, TrieNode> children = new HashMap<>(4);
+        boolean term;
+    }
+
+    private static final class Hit {
+        final Doc doc;
+        final int score;
+
+        Hit(Doc doc, int score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    private static final Comparator<Hit> RANKING = (a, b) -> compare(a.score, a.doc, b.score, b.doc);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Doc> docs = new HashMap<>();
+    private Map<String, Posting> postings = new HashMap<>();
+    private TrieNode root = new TrieNode();
+
+    // Rebuilds take turns. While one reads the table, adds (Events) and removes
+    // (Long ids) are also recorded here and replayed once it has swapped in,
+    // so a change the snapshot missed isn't lost. Guarded by lock.
+    private final Object rebuildLock = new Object();
+    private List<Object> missed;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuild(eventRepository::findAll);
+    }
+
+    void rebuild(List<Events> events) {
+        rebuild(() -> events);
+    }
+
+    void rebuild(Supplier<List<Events>> loader) {
+        synchronized (rebuildLock) {
+            setMissed(new ArrayList<>());
+            try {
+                swapIn(loader.get());
+            } finally {
+                setMissed(null);
+            }
+        }
+    }
+
+    private void swapIn(List<Events> events) {
+        // Build aside and swap, so searches keep working during a rebuild
+        Map<Long, Doc> newDocs = new HashMap<>();
+        Map<String, Posting> newPostings = new HashMap<>();
+        TrieNode newRoot = new TrieNode();
+        for (Events event : events) {
+            addTo(event, newDocs, newPostings, newRoot, true);
+        }
+        for (Posting posting : newPostings.values()) {
+            posting.sort();
+        }
+
+        lock.writeLock().lock();
+        try {
+            docs = newDocs;
+            postings = newPostings;
+            root = newRoot;
+            for (Object change : missed) {
+                if (change instanceof Events event) {
+                    removeFrom(event.getId());
+                    addTo(event, docs, postings, root, false);
+                } else {
+                    removeFrom((Long) change);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(Events event) {
+        lock.writeLock().lock();
+        try {
+            removeFrom(event.getId());
+            addTo(event, docs, postings, root, false);
+            if (missed != null) {
+                missed.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            removeFrom(eventId);
+            if (missed != null) {
+                missed.add(eventId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setMissed(List<Object> changes) {
+        lock.writeLock().lock();
+        try {
+            missed = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Every word but the last must match a whole term; the last one may be a prefix.
+    // A whole-word match on the last word ranks above a completion of it.
+    public List<Map<String, Object>> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Cursor> completions = expandPrefix(tokens.get(tokens.size() - 1));
+            List<Hit> hits = tokens.size() == 1
+                    ? mergeRanked(completions, limit)
+                    : intersect(tokens.subList(0, tokens.size() - 1), completions, limit);
+
+            List<Map<String, Object>> results = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                Map<String, Object> result = new HashMap<>(hit.doc.summary);
+                result.put("score", hit.score);
+                results.add(result);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // One cursor per term under the prefix; breadth-first, so short completions
+    // are kept when a very common prefix has more than MAX_PREFIX_TERMS of them
+    private List<Cursor> expandPrefix(String prefix) {
+        TrieNode node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        List<Cursor> cursors = new ArrayList<>();
+        ArrayDeque<TrieNode> nodes = new ArrayDeque<>();
+        ArrayDeque<String> words = new ArrayDeque<>();
+        nodes.add(node);
+        words.add(prefix);
+
+        while (!nodes.isEmpty() && cursors.size() < MAX_PREFIX_TERMS) {
+            TrieNode current = nodes.poll();
+            String word = words.poll();
+
+            if (current.term) {
+                cursors.add(new Cursor(postings.get(word), word.length() == prefix.length() ? 2 : 1));
+            }
+            for (Map.Entry<Character, TrieNode> child : current.children.entrySet()) {
+                nodes.add(child.getValue());
+                words.add(word + child.getKey());
+            }
+        }
+        return cursors;
+    }
+
+    // k-way merge of the ranked lists. A doc's score is its best term, and each
+    // list is in score order, so the first time a doc comes out is its best.
+    private static List<Hit> mergeRanked(List<Cursor> cursors, int limit) {
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(1, cursors.size()),
+                (a, b) -> compare(a.score(), a.doc(), b.score(), b.doc()));
+        for (Cursor cursor : cursors) {
+            if (cursor.posting.ranked.length > 0) {
+                queue.add(cursor);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        while (hits.size() < limit && !queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            Doc doc = cursor.doc();
+            if (seen.add(doc.id)) {
+                hits.add(new Hit(doc, cursor.score()));
+            }
+            if (++cursor.position < cursor.posting.ranked.length) {
+                queue.add(cursor);
+            }
+        }
+        return hits;
+    }
+
+    // Multi-word queries: walk the rarest whole word's docs and probe the rest
+    private List<Hit> intersect(List<String> words, List<Cursor> completions, int limit) {
+        List<Posting> required = new ArrayList<>(words.size());
+        for (String word : words) {
+            Posting posting = postings.get(word);
+            if (posting == null) {
+                return List.of();
+            }
+            required.add(posting);
+        }
+        if (completions.isEmpty()) {
+            return List.of();
+        }
+        required.sort(Comparator.comparingInt(p -> p.weights.size()));
+
+        Map<Long, Integer> prefixScores = new HashMap<>();
+        for (Cursor cursor : completions) {
+            cursor.posting.weights.forEach((id, weight) -> prefixScores.merge(id, weight * cursor.factor, Math::max));
+        }
+
+        // Keep only the best "limit" hits: the worst of them sits at the head
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        Posting driver = required.get(0);
+        for (Map.Entry<Long, Integer> entry : driver.weights.entrySet()) {
+            Integer prefixScore = prefixScores.get(entry.getKey());
+            if (prefixScore == null) {
+                continue;
+            }
+            int score = prefixScore + entry.getValue() * 2;
+            for (int i = 1; i < required.size() && score > 0; i++) {
+                Integer weight = required.get(i).weights.get(entry.getKey());
+                score = weight == null ? 0 : score + weight * 2;
+            }
+            if (score > 0) {
+                top.add(new Hit(docs.get(entry.getKey()), score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    // Best first: higher score, then the sooner event (undated last), then the lower id
+    private static int compare(int scoreA, Doc a, int scoreB, Doc b) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB ? -1 : 1;
+        }
+        if (a.startsAt != b.startsAt) {
+            if (a.startsAt == null) {
+                return 1;
+            }
+            if (b.startsAt == null) {
+                return -1;
+            }
+            int byStart = a.startsAt.compareTo(b.startsAt);
+            if (byStart != 0) {
+                return byStart;
+            }
+        }
+        return Long.compare(a.id, b.id);
+    }
+
+    // bulk appends unsorted; the caller sorts every posting afterwards
+    private static void addTo(Events event, Map<Long, Doc> docs,
+                              Map<String, Posting> postings, TrieNode root, boolean bulk) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, event.getName(), NAME_WEIGHT);
+        addField(weights, event.getArtist(), ARTIST_WEIGHT);
+        addField(weights, event.getLocation(), LOCATION_WEIGHT);
+
+        Doc doc = new Doc(event.getId(), event.getStartsAt(), summarize(event), weights.keySet());
+        docs.put(doc.id, doc);
+
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            Posting posting = postings.computeIfAbsent(entry.getKey(), k -> new Posting());
+            if (posting.weights.isEmpty()) {
+                insertTerm(root, entry.getKey());
+            }
+            if (bulk) {
+                posting.append(doc, entry.getValue());
+            } else {
+                posting.insert(doc, entry.getValue());
+            }
+        }
+    }
+
+    // A term counts once per field, however often it repeats there
+    private static void addField(Map<String, Integer> weights, String text, int weight) {
+        for (String term : new LinkedHashSet<>(tokenize(text))) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private void removeFrom(Long eventId) {
+        Doc doc = docs.remove(eventId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms) {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.delete(eventId);
+            if (posting.weights.isEmpty()) {
+                postings.remove(term);
+                removeTerm(root, term);
+            }
+        }
+    }
+
+    private static void insertTerm(TrieNode root, String term) {
+        TrieNode node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.computeIfAbsent(term.charAt(i), c -> new TrieNode());
+        }
+        node.term = true;
+    }
+
+    // Unmarks the term and prunes the branch back to the last node still in use
+    private static void removeTerm(TrieNode root, String term) {
+        TrieNode[] path = new TrieNode[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            path[i + 1] = path[i].children.get(term.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+
+        path[term.length()].term = false;
+        for (int i = term.length(); i > 0; i--) {
+            TrieNode node = path[i];
+            if (node.term || !node.children.isEmpty()) {
+                break;
+            }
+            path[i - 1].children.remove(term.charAt(i - 1));
+        }
+    }
+
+    private static Map<String, Object> summarize(Events event) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("id", event.getId());
+        summary.put("name", event.getName());
+        summary.put("artist", event.getArtist());
+        summary.put("location", event.getLocation());
+        summary.put("date", event.getDate());
+        summary.put("time", event.getTime());
+        summary.put("startsAt", event.getStartsAt());
+        summary.put("imageUrl", event.getImageUrl());
+        return summary;
+    }
+}
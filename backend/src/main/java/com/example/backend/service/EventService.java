@@ -1,17 +1,34 @@
 package com.example.backend.service;
 
+import com.example.backend.config.EventCacheConfig;
 import com.example.backend.entity.Events;
 import com.example.backend.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class EventService {
@@ -22,38 +39,192 @@ public class EventService {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private EventInventoryService eventInventoryService;
+
+    @Autowired
+    private EventCacheConfig eventCacheConfig;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private PosterService posterService;
+
+    @Autowired
+    private CacheInvalidationBus cacheBus;
+
+    @Autowired
+    private CheckInStatsService checkInStatsService;
+
+    public static final int DEFAULT_CURSOR_LIMIT = 20;
+    public static final int MAX_CURSOR_LIMIT = 100;
+
+    private record PageKey(int page, int size) {}
+
+    private record CursorKey(String after, int limit) {}
+
+    // Catalog reads are served from these; writes evict them once they commit.
+    // Seat counts in cached events may lag by up to the TTL, live numbers come
+    // from /api/events/{id}/availability.
+    private ExpiringCache<Boolean, List<Events>> allEventsCache;
+    private ExpiringCache<PageKey, Page<Events>> pageCache;
+    private ExpiringCache<CursorKey, List<Events>> cursorCache;
+    private ExpiringCache<Long, Events> eventCache;
+
+    @PostConstruct
+    public void init() {
+        boolean enabled = eventCacheConfig.isEnabled();
+        long ttlMillis = eventCacheConfig.getTtlSeconds() * 1000L;
+        int maxEntries = eventCacheConfig.getMaxEntries();
+
+        allEventsCache = new ExpiringCache<>(enabled, ttlMillis, 1);
+        pageCache = new ExpiringCache<>(enabled, ttlMillis, maxEntries);
+        cursorCache = new ExpiringCache<>(enabled, ttlMillis, maxEntries);
+        eventCache = new ExpiringCache<>(enabled, ttlMillis, maxEntries);
+
+        cacheBus.subscribe(CacheInvalidationBus.EVENTS, this::onRemoteChange);
+    }
+
+    // An event was created, changed or deleted on another instance
+    private void onRemoteChange(Long eventId) {
+        evictCatalog(eventId);
+        if (eventId == null) {
+            eventSearchIndex.rebuild();
+            return;
+        }
+        eventRepository.findById(eventId).ifPresentOrElse(
+                eventSearchIndex::add,
+                () -> {
+                    eventSearchIndex.remove(eventId);
+                    checkInStatsService.remove(eventId);
+                });
+    }
+
     public List<Events> getAllEvents() {
-        return eventRepository.findAll();
+        return allEventsCache.get(Boolean.TRUE, eventRepository::findAll);
     }
 
     public Events getEventById(Long id) {
-        return eventRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
+        return eventCache.get(id, () -> eventRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Event not found with id: " + id)));
     }
 
     public Page<Events> getEventsPage(int page, int size) {
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by("date").descending());
-        return eventRepository.findAll(pageable);
+        return pageCache.get(new PageKey(page, size), () -> {
+            Sort sort = Sort.by(Sort.Order.desc("startsAt").nullsLast(), Sort.Order.desc("id"));
+            return eventRepository.findAll(PageRequest.of(page - 1, size, sort));
+        });
+    }
+
+    // Chronological listing that seeks past the cursor instead of counting an
+    // offset. The total is only computed when asked for.
+    public Map<String, Object> getEventsAfter(String after, Integer limit, boolean includeTotal) {
+        int size = limit == null ? DEFAULT_CURSOR_LIMIT : limit;
+        if (size < 1 || size > MAX_CURSOR_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_CURSOR_LIMIT);
+        }
+
+        String cursor = after == null || after.isEmpty() ? null : after;
+        List<Events> rows = cursorCache.get(new CursorKey(cursor, size), () -> {
+            // One extra row tells us whether there is a next page
+            Pageable pageable = PageRequest.of(0, size + 1);
+            if (cursor == null) {
+                return eventRepository.findFirstByStart(pageable);
+            }
+            Object[] position = decodeCursor(cursor);
+            return eventRepository.findAfterByStart((LocalDateTime) position[0], (Long) position[1], pageable);
+        });
+
+        boolean hasNext = rows.size() > size;
+        List<Events> events = hasNext ? rows.subList(0, size) : rows;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("events", events);
+        response.put("limit", size);
+        response.put("hasNext", hasNext);
+        response.put("nextCursor", hasNext ? encodeCursor(events.get(events.size() - 1)) : null);
+        if (includeTotal) {
+            response.put("totalItems", eventRepository.countWithStart());
+        }
+        return response;
+    }
+
+    public Map<String, Object> searchEvents(String query, Integer limit) {
+        int size = limit == null ? EventSearchIndex.DEFAULT_LIMIT : limit;
+        if (size < 1 || size > EventSearchIndex.MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + EventSearchIndex.MAX_LIMIT);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("query", query);
+        response.put("results", eventSearchIndex.search(query, size));
+        return response;
+    }
+
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("allEvents", allEventsCache.getStats());
+        stats.put("eventPages", pageCache.getStats());
+        stats.put("eventCursorPages", cursorCache.getStats());
+        stats.put("eventsById", eventCache.getStats());
+        return stats;
     }
 
     @Transactional
     public Events createEvent(String name, String artist, String location,
-                              String date, String time, MultipartFile image) {
+                              String date, String time, Integer capacity, MultipartFile image) {
+        if (capacity != null && capacity < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Capacity cannot be negative");
+        }
+
         Events event = new Events();
         event.setName(name);
         event.setArtist(artist);
         event.setLocation(location);
         event.setDate(date);
         event.setTime(time);
+        LocalDate day = parseDate(date);
+        LocalTime at = parseTime(time);
+        if (day == null || at == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date must be yyyy-MM-dd and time HH:mm");
+        }
+        event.setStartsAt(day.atTime(at));
+        event.setCapacity(capacity);
+        event.setRemaining(capacity);
 
         if (image != null && !image.isEmpty()) {
-            String imageUrl = fileStorageService.storeFile(image, name);
+            String imageUrl = fileStorageService.storeFile(image);
             event.setImageUrl(imageUrl);
         } else {
             event.setImageUrl("/uploads/events/default-event.jpg");
         }
 
-        return eventRepository.save(event);
+        Events saved = eventRepository.save(event);
+        evictCatalogAfterCommit(saved.getId());
+        runAfterCommit(() -> eventSearchIndex.add(saved));
+        runAfterCommit(() -> generatePoster(saved.getId(), saved.getImageUrl()));
+        return saved;
+    }
+
+    // Resized copies are made in the background; until they're ready the event
+    // is served with only its original imageUrl
+    private void generatePoster(Long eventId, String imageUrl) {
+        posterService.generate(imageUrl).thenAccept(result -> {
+            if (result != null && eventRepository.setPoster(eventId, result.getHash(), result.isWebp()) > 0) {
+                evictCatalog(eventId);
+                cacheBus.publish(CacheInvalidationBus.EVENTS, eventId);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateMissingPosters() {
+        for (Object[] row : eventRepository.findPostersToGenerate()) {
+            generatePoster((Long) row[0], (String) row[1]);
+        }
     }
 
     @Transactional
@@ -67,5 +238,88 @@ public class EventService {
         }
 
         eventRepository.delete(event);
+        eventInventoryService.evict(id);
+        cacheBus.publish(CacheInvalidationBus.INVENTORY, id);
+        evictCatalogAfterCommit(id);
+        runAfterCommit(() -> eventSearchIndex.remove(id));
+        runAfterCommit(() -> checkInStatsService.remove(id));
+    }
+
+    @Transactional
+    public void setQueueMode(Long id, boolean enabled) {
+        if (eventRepository.setQueueMode(id, enabled) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
+        }
+        evictCatalogAfterCommit(id);
+    }
+
+    // Evicting before commit would let a concurrent read re-cache the old rows.
+    // Other instances hear about it once the transaction commits.
+    private void evictCatalogAfterCommit(Long eventId) {
+        runAfterCommit(() -> evictCatalog(eventId));
+        cacheBus.publish(CacheInvalidationBus.EVENTS, eventId);
+    }
+
+    private void evictCatalog(Long eventId) {
+        allEventsCache.invalidateAll();
+        pageCache.invalidateAll();
+        cursorCache.invalidateAll();
+        if (eventId != null) {
+            eventCache.invalidate(eventId);
+        }
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // For rows stored before startsAt existed. Null when the free-text date isn't an
+    // ISO date; an unreadable time falls back to midnight. New events must pass both.
+    public static LocalDateTime parseStartsAt(String date, String time) {
+        LocalDate day = parseDate(date);
+        if (day == null) {
+            return null;
+        }
+        LocalTime at = parseTime(time);
+        return at != null ? day.atTime(at) : day.atStartOfDay();
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static LocalTime parseTime(String time) {
+        try {
+            return LocalTime.parse(time.trim());
+        } catch (DateTimeParseException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static String encodeCursor(Events last) {
+        String position = last.getStartsAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int bar = position.indexOf('|');
+            return new Object[]{
+                    LocalDateTime.parse(position.substring(0, bar)),
+                    Long.parseLong(position.substring(bar + 1))
+            };
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+package com.example.backend.service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Read-through cache with a fixed time-to-live. Concurrent misses on the same key
+// share one load, so an expired hot key costs one query rather than one per request.
+// A load that started before invalidateAll() is handed back to its callers but not stored.
+// Values that know their own lifetime can be stored directly with put(key, value, ttl).
+public class ExpiringCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(boolean enabled, long ttlMillis, int maxEntries) {
+        this.enabled = enabled;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, mine);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+
+        long startedAt = generation.get();
+        try {
+            V value = loader.get();
+            if (value != null && generation.get() == startedAt) {
+                if (entries.size() >= maxEntries) {
+                    makeRoom();
+                }
+                entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    // Null when absent or expired; never loads
+    public V getIfPresent(K key) {
+        if (!enabled) {
+            return null;
+        }
+
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt - System.nanoTime() <= 0) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, V value, long ttlMillis) {
+        if (!enabled || ttlMillis <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            makeRoom();
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlMillis * 1_000_000L));
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        if (entries.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        int size = entries.size();
+        entries.clear();
+        evictions.add(size);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlMillis", ttlNanos / 1_000_000L);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    // Drop expired entries first; if that isn't enough, drop an arbitrary tenth
+    private void makeRoom() {
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> {
+            boolean expired = e.expiresAt - now <= 0;
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+
+        int toDrop = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<K> it = entries.keySet().iterator();
+        while (toDrop-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
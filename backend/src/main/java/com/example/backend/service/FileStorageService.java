@@ -5,14 +5,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
 
 @Service
 public class FileStorageService {
 
+    public static final String URL_PREFIX = "/uploads/events/";
+
     @Value("${file.upload-dir}")
     private String uploadDir;
 
@@ -28,25 +36,78 @@ public class FileStorageService {
         }
     }
 
-    public String storeFile(MultipartFile file, String eventName) {
+    // Stored under the hash of its content, so uploading the same poster twice keeps one file
+    public String storeFile(MultipartFile file) {
+        Path temp = null;
         try {
-            String cleanEventName = eventName.replaceAll("[^a-zA-Z0-9]", "_");
-            String originalFileName = file.getOriginalFilename();
-            String fileExtension = "";
-
-            if (originalFileName != null && originalFileName.contains(".")) {
-                fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+            temp = Files.createTempFile(fileStoragePath, ".upload", ".tmp");
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
             }
 
-            String fileName = cleanEventName + "_" + System.currentTimeMillis() + fileExtension;
+            String fileName = hex(digest.digest()) + extension(file.getOriginalFilename());
             Path targetLocation = fileStoragePath.resolve(fileName);
-
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            return "/uploads/events/" + fileName;
+            if (Files.exists(targetLocation)) {
+                Files.delete(temp);
+            } else {
+                Files.move(temp, targetLocation, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return URL_PREFIX + fileName;
 
         } catch (IOException e) {
+            deleteQuietly(temp);
             throw new RuntimeException("Failed to store file", e);
         }
     }
-}
\ No newline at end of file
+
+    // Path on disk for a URL handed out by storeFile, or null if it isn't one of ours
+    public Path resolve(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return null;
+        }
+        Path path = fileStoragePath.resolve(url.substring(URL_PREFIX.length())).normalize();
+        return path.startsWith(fileStoragePath) ? path : null;
+    }
+
+    public Path getStoragePath() {
+        return fileStoragePath;
+    }
+
+    public static String contentHash(byte[] bytes) {
+        return hex(sha256().digest(bytes));
+    }
+
+    // 128 bits of SHA-256 is plenty to tell posters apart and keeps names short
+    private static String hex(byte[] digest) {
+        return HexFormat.of().formatHex(digest, 0, 16);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Only short alphanumeric extensions survive; anything else is dropped
+    private static String extension(String originalFileName) {
+        if (originalFileName == null || !originalFileName.contains(".")) {
+            return "";
+        }
+        String extension = originalFileName.substring(originalFileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return extension.matches("[a-z0-9]{1,5}") ? "." + extension : "";
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Best effort; a leftover temp file is harmless
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.backend.service;
+
+import com.example.backend.config.IdempotencyConfig;
+import com.example.backend.entity.IdempotencyRecord;
+import com.example.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Honors the Idempotency-Key header on non-idempotent POSTs. The first request
+// with a key runs and its response is remembered; retries with the same key and
+// the same request get that response back without touching the database again.
+// Keys are scoped per user and endpoint. Only successful responses are kept, so a
+// retry after an error runs the request again. While a persisted key's request
+// runs, the instance running it refreshes the row with a heartbeat; another
+// instance only takes the key over once the heartbeat stops, so a retry of a
+// slow request gets 409 rather than running it twice.
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final class Entry {
+        final String fingerprint;
+        final long createdAt = System.currentTimeMillis();
+        volatile boolean completed;
+        volatile int status;
+        volatile Object body;
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private final IdempotencyConfig config;
+    private final long ttlMillis;
+
+    // Ids of persisted rows whose request is running on this instance
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Insertion-ordered, so the eldest entry is also the first to expire; guarded by "this"
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public IdempotencyService(IdempotencyConfig config) {
+        this.config = config;
+        this.ttlMillis = config.getTtlMinutes() * 60_000L;
+    }
+
+    // Runs the action once per (user, scope, key). The fingerprint identifies the
+    // request body; reusing a key for a different request is rejected with 422.
+    public <T> ResponseEntity<T> execute(Long userId, String scope, String key,
+                                         String fingerprint, Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key is too long");
+        }
+
+        String storeKey = userId + ":" + scope + ":" + key;
+        Entry claim = new Entry(fingerprint);
+        Entry existing;
+        synchronized (this) {
+            existing = entries.get(storeKey);
+            if (existing != null && isExpired(existing)) {
+                entries.remove(storeKey);
+                existing = null;
+            }
+            if (existing == null) {
+                entries.put(storeKey, claim);
+                evictOverflow();
+            }
+        }
+        if (existing != null) {
+            return replay(existing, fingerprint);
+        }
+
+        IdempotencyRecord record = null;
+        if (config.isPersist()) {
+            try {
+                record = claimRecord(userId, scope, key, fingerprint);
+            } catch (RuntimeException e) {
+                release(storeKey, claim);
+                throw e;
+            }
+            if (record.getId() == null) {
+                // Another instance (or an earlier run of this one) saw the key first
+                release(storeKey, claim);
+                return replay(fromRecord(record), fingerprint);
+            }
+            running.add(record.getId());
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(storeKey, claim);
+            if (record != null) {
+                running.remove(record.getId());
+                recordRepository.delete(record);
+            }
+            throw e;
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(storeKey, claim);
+            if (record != null) {
+                running.remove(record.getId());
+                recordRepository.delete(record);
+            }
+            return response;
+        }
+
+        claim.status = response.getStatusCode().value();
+        claim.body = response.getBody();
+        claim.completed = true;
+        if (record != null) {
+            record.setStatus(claim.status);
+            record.setBody(toJson(claim.body));
+            recordRepository.save(record);
+            running.remove(record.getId());
+        }
+        return response;
+    }
+
+    // True when execute() would answer this key from memory (a replay, or 409/422)
+    // without running the action or touching the database
+    public synchronized boolean isKnown(Long userId, String scope, String key) {
+        if (key == null || key.isBlank()) {
+            return false;
+        }
+        Entry entry = entries.get(userId + ":" + scope + ":" + key);
+        return entry != null && !isExpired(entry);
+    }
+
+    // Tells other instances the requests running here are still alive
+    @Scheduled(fixedDelayString = "#{@idempotencyConfig.pendingTimeoutSeconds * 250}")
+    public void heartbeat() {
+        if (!running.isEmpty()) {
+            recordRepository.touchPending(List.copyOf(running), LocalDateTime.now());
+        }
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxEntries", config.getMaxEntries());
+        stats.put("ttlMillis", ttlMillis);
+        stats.put("persist", config.isPersist());
+        stats.put("running", running.size());
+        stats.put("replays", replays.sum());
+        stats.put("conflicts", conflicts.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    @Scheduled(fixedDelay = 3_600_000, initialDelay = 60_000)
+    public void purgeExpired() {
+        synchronized (this) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext() && isExpired(it.next())) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+        if (config.isPersist()) {
+            recordRepository.deleteCreatedBefore(LocalDateTime.now().minusMinutes(config.getTtlMinutes()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry, String fingerprint) {
+        if (!entry.fingerprint.equals(fingerprint)) {
+            conflicts.increment();
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+        }
+        if (!entry.completed) {
+            conflicts.increment();
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still in progress");
+        }
+        replays.increment();
+        return ResponseEntity.status(entry.status)
+                .header(REPLAYED_HEADER, "true")
+                .body((T) entry.body);
+    }
+
+    // Inserts a pending row; the unique constraint decides which instance runs the
+    // request. Returns the existing row (id left unset) when the key is taken. A row
+    // past its TTL, or pending with no heartbeat for pendingTimeoutSeconds (its owner
+    // died mid-request), is replaced.
+    private IdempotencyRecord claimRecord(Long userId, String scope, String key, String fingerprint) {
+        for (int attempt = 0; ; attempt++) {
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setUserId(userId);
+            record.setScope(scope);
+            record.setIdempotencyKey(key);
+            record.setFingerprint(fingerprint);
+            record.setCreatedAt(LocalDateTime.now());
+            record.setHeartbeatAt(record.getCreatedAt());
+            try {
+                return recordRepository.saveAndFlush(record);
+            } catch (DataIntegrityViolationException e) {
+                IdempotencyRecord taken = recordRepository.findByUserIdAndScopeAndIdempotencyKey(userId, scope, key)
+                        .orElse(null);
+                if (attempt < 2 && (taken == null || deleteIfStale(taken))) {
+                    continue;
+                }
+                if (taken == null) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "A request with this Idempotency-Key is still in progress");
+                }
+                taken.setId(null);
+                return taken;
+            }
+        }
+    }
+
+    private boolean deleteIfStale(IdempotencyRecord record) {
+        LocalDateTime now = LocalDateTime.now();
+        return recordRepository.deleteIfStale(record.getId(),
+                now.minusMinutes(config.getTtlMinutes()),
+                now.minusSeconds(config.getPendingTimeoutSeconds())) > 0;
+    }
+
+    private Entry fromRecord(IdempotencyRecord record) {
+        Entry entry = new Entry(record.getFingerprint());
+        if (record.getStatus() != null) {
+            entry.status = record.getStatus();
+            entry.body = fromJson(record.getBody());
+            entry.completed = true;
+        }
+        return entry;
+    }
+
+    private synchronized void release(String storeKey, Entry claim) {
+        entries.remove(storeKey, claim);
+    }
+
+    // Oldest first; an in-flight entry pushed out here still completes for its own caller
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > config.getMaxEntries() && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return System.currentTimeMillis() - entry.createdAt > ttlMillis;
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent response", e);
+        }
+    }
+
+    private Object fromJson(String body) {
+        try {
+            return body == null ? null : objectMapper.readValue(body, Object.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored idempotent response", e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.backend.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Remaining-seat counter for one event, lock-free unless a request spans stripes.
+// Seats are spread over a few stripes so concurrent bookers mostly CAS on
+// different cache lines; a stripe never goes below zero, so the sum can't either.
+public class InventoryCounter {
+
+    // 16 ints = 64 bytes between live slots, keeps stripes on separate cache lines
+    private static final int PAD = 16;
+
+    // Gathers that come up short while the sum says there's enough, before giving up
+    private static final int GATHER_ATTEMPTS = 3;
+
+    private final int capacity;
+    private final int stripes;
+    private final AtomicIntegerArray slots;
+    private final long loadedAt = System.nanoTime();
+
+    public InventoryCounter(int capacity, int remaining) {
+        this(capacity, remaining, Runtime.getRuntime().availableProcessors());
+    }
+
+    public InventoryCounter(int capacity, int remaining, int maxStripes) {
+        this.capacity = capacity;
+        // No point striping a handful of seats
+        this.stripes = Math.max(1, Math.min(maxStripes, remaining / 8));
+        this.slots = new AtomicIntegerArray(stripes * PAD);
+
+        int share = remaining / stripes;
+        int extra = remaining % stripes;
+        for (int i = 0; i < stripes; i++) {
+            slots.set(i * PAD, share + (i < extra ? 1 : 0));
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getAgeMillis() {
+        return (System.nanoTime() - loadedAt) / 1_000_000;
+    }
+
+    // Racy sum, good enough for availability display
+    public int getRemaining() {
+        int total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += slots.get(i * PAD);
+        }
+        return total;
+    }
+
+    public boolean tryAcquire(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+
+        int home = ThreadLocalRandom.current().nextInt(stripes);
+
+        // Fast path: whole request from one stripe
+        for (int i = 0; i < stripes; i++) {
+            int idx = ((home + i) % stripes) * PAD;
+            int current;
+            while ((current = slots.get(idx)) >= count) {
+                if (slots.compareAndSet(idx, current, current - count)) {
+                    return true;
+                }
+            }
+        }
+
+        // Slow path: gather from several stripes. Gatherers take turns, so callers
+        // never see stripes another gatherer is holding and answer a false sold out.
+        synchronized (this) {
+            for (int attempt = 0; attempt < GATHER_ATTEMPTS && getRemaining() >= count; attempt++) {
+                if (gather(count)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Takes count seats from whichever stripes have them, or gives back what it took
+    private boolean gather(int count) {
+        int[] taken = new int[stripes];
+        int needed = count;
+        for (int i = 0; i < stripes && needed > 0; i++) {
+            int idx = i * PAD;
+            int current;
+            while ((current = slots.get(idx)) > 0) {
+                int grab = Math.min(current, needed);
+                if (slots.compareAndSet(idx, current, current - grab)) {
+                    taken[i] = grab;
+                    needed -= grab;
+                    break;
+                }
+            }
+        }
+
+        if (needed > 0) {
+            for (int i = 0; i < stripes; i++) {
+                if (taken[i] > 0) {
+                    slots.addAndGet(i * PAD, taken[i]);
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    public void release(int count) {
+        if (count <= 0) {
+            return;
+        }
+        int idx = ThreadLocalRandom.current().nextInt(stripes) * PAD;
+        slots.addAndGet(idx, count);
+    }
+
+    // Seats sold (negative) or freed (positive) on another instance. Stops at zero:
+    // a shortfall means bookings in flight here will be refused by the row guard.
+    public void adjust(int delta) {
+        if (delta >= 0) {
+            release(delta);
+            return;
+        }
+        int needed = -delta;
+        for (int i = 0; i < stripes && needed > 0; i++) {
+            int idx = i * PAD;
+            int current;
+            while ((current = slots.get(idx)) > 0) {
+                int grab = Math.min(current, needed);
+                if (slots.compareAndSet(idx, current, current - grab)) {
+                    needed -= grab;
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ScanSyncRequest;
+import com.example.backend.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+// Support for gate devices that keep scanning while the venue network is down.
+//
+// Manifest format (gzip-compressed, big-endian):
+//   "NBM1" | eventId:int64 | version:int64 | flags:int8 (1 = delta) | count:int32 | hash:int64 * count
+// where hash = first 8 bytes of SHA-256(qrCode UTF-8), sorted as unsigned 64-bit values,
+// and version is the highest ticket id covered. Pass it back as ?since= to get a delta.
+@Service
+public class OfflineGateService {
+
+    private static final byte[] MAGIC = {'N', 'B', 'M', '1'};
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private QrPayloadCodec qrPayloadCodec;
+
+    @Autowired
+    private CheckInStatsService checkInStatsService;
+
+    public static class Manifest {
+        private final byte[] body;
+        private final long version;
+        private final int count;
+        private final boolean delta;
+
+        Manifest(byte[] body, long version, int count, boolean delta) {
+            this.body = body;
+            this.version = version;
+            this.count = count;
+            this.delta = delta;
+        }
+
+        public byte[] getBody() { return body; }
+        public long getVersion() { return version; }
+        public int getCount() { return count; }
+        public boolean isDelta() { return delta; }
+    }
+
+    @Transactional(readOnly = true)
+    public Manifest buildManifest(Long eventId, Long since) {
+        long afterId = since != null ? since : 0L;
+        List<Object[]> rows = ticketRepository.findUnusedQrCodesByEventId(eventId, afterId);
+
+        long version = afterId;
+        long[] hashes = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            version = Math.max(version, (Long) row[0]);
+            // Flip the sign bit so a signed sort gives unsigned order
+            hashes[i] = qrHash((String) row[1]) ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(hashes);
+
+        boolean delta = afterId > 0;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + hashes.length * 8);
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.write(MAGIC);
+            out.writeLong(eventId);
+            out.writeLong(version);
+            out.writeByte(delta ? 1 : 0);
+            out.writeInt(hashes.length);
+            for (long hash : hashes) {
+                out.writeLong(hash ^ Long.MIN_VALUE);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to build manifest", e);
+        }
+
+        return new Manifest(bytes.toByteArray(), version, hashes.length, delta);
+    }
+
+    // Applies queued scans with one set-based statement. The earliest scan of a ticket
+    // wins no matter which device uploads first, so the stored time doesn't depend on
+    // sync order; only a scan of an unused ticket is admitted. Door stats count these
+    // scans in the minute they are synced.
+    @Transactional
+    public Map<String, Object> syncScans(ScanSyncRequest request, Long checkerId) {
+        List<ScanSyncRequest.ScanRecord> scans = request.getScans() != null ? request.getScans() : List.of();
+        if (scans.size() > TicketService.MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + TicketService.MAX_BATCH_SIZE + " scans per sync");
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // Index of the earliest scan per code; ties go to the first one in the batch
+        LocalDateTime[] times = new LocalDateTime[scans.size()];
+        Map<String, Integer> winners = new HashMap<>();
+        for (int i = 0; i < scans.size(); i++) {
+            ScanSyncRequest.ScanRecord scan = scans.get(i);
+            if (scan == null || scan.getQrCode() == null) {
+                continue;
+            }
+            times[i] = scan.getScannedAt() != null ? scan.getScannedAt() : now;
+            winners.merge(scan.getQrCode(), i, (a, b) -> times[b].isBefore(times[a]) ? b : a);
+        }
+
+        // The database decides: a winner is admitted only if the ticket was unused.
+        // Unknown codes come back missing.
+        String[] codes = new String[winners.size()];
+        String[] scannedAt = new String[winners.size()];
+        int next = 0;
+        for (Map.Entry<String, Integer> entry : winners.entrySet()) {
+            codes[next] = entry.getKey();
+            scannedAt[next++] = times[entry.getValue()].toString();
+        }
+        Map<String, Object[]> outcomes = new HashMap<>();
+        if (codes.length > 0) {
+            for (Object[] row : ticketRepository.checkInEarliest(codes, scannedAt)) {
+                outcomes.put((String) row[0], row);
+            }
+        }
+
+        int admitted = 0;
+        int duplicates = 0;
+        int invalid = 0;
+        List<Map<String, Object>> results = new ArrayList<>(scans.size());
+
+        for (int i = 0; i < scans.size(); i++) {
+            String qrCode = scans.get(i) != null ? scans.get(i).getQrCode() : null;
+            Object[] outcome = qrCode != null ? outcomes.get(qrCode) : null;
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("qrCode", qrCode);
+            results.add(result);
+
+            if (outcome == null) {
+                QrPayloadCodec.Payload payload = qrCode != null ? qrPayloadCodec.decode(qrCode) : null;
+                if (payload != null) {
+                    checkInStatsService.record(payload.getEventId(), checkerId, CheckInStatsService.Outcome.INVALID);
+                }
+                result.put("status", "invalid");
+                invalid++;
+                continue;
+            }
+
+            boolean isWinner = winners.get(qrCode) == i && (Boolean) outcome[2];
+            checkInStatsService.record(((Number) outcome[4]).longValue(), checkerId,
+                    isWinner ? CheckInStatsService.Outcome.ADMITTED : CheckInStatsService.Outcome.DUPLICATE);
+            result.put("status", isWinner ? "admitted" : "duplicate");
+            result.put("ticketNumber", ((Number) outcome[1]).intValue());
+            result.put("checkedInAt", toLocalDateTime(outcome[3]));
+            if (isWinner) {
+                admitted++;
+            } else {
+                duplicates++;
+            }
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("deviceId", request.getDeviceId());
+        response.put("admitted", admitted);
+        response.put("duplicates", duplicates);
+        response.put("invalid", invalid);
+        response.put("results", results);
+        return response;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    // First 8 bytes of SHA-256 over the QR content, as stored in the manifest
+    public static long qrHash(String qrCode) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(qrCode.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
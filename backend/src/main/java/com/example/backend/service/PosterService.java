@@ -0,0 +1,263 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.PosterSize;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Makes the fixed-width poster copies (PosterSize) as JPEG, plus WebP when the
+// native encoder loads on this platform. Runs on its own single background
+// thread; a decoded 5 MB upload can take ~100 MB of heap, so one at a time,
+// and images over MAX_PIXELS are refused from their header before decoding.
+// Files are named by the hash of the original, so a poster shared by several
+// events (or uploaded twice) is only resized once.
+@Service
+public class PosterService {
+
+    private static final Logger log = LoggerFactory.getLogger(PosterService.class);
+
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final float WEBP_QUALITY = 0.80f;
+
+    // 25 MP is ~100 MB decoded; a small file can claim far more (decompression bomb)
+    static final long MAX_PIXELS = 25_000_000L;
+
+    public static final class Result {
+        private final String hash;
+        private final boolean webp;
+
+        Result(String hash, boolean webp) {
+            this.hash = hash;
+            this.webp = webp;
+        }
+
+        public String getHash() { return hash; }
+        public boolean isWebp() { return webp; }
+    }
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    // When the backlog is full new jobs are refused; the startup backfill
+    // (EventService.generateMissingPosters) picks those events up later
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(500), r -> {
+                Thread thread = new Thread(r, "poster-resize");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+
+    private boolean webpAvailable;
+
+    @PostConstruct
+    public void init() {
+        // Plugins in nested jars are only found through the context class loader
+        ImageIO.scanForPlugins();
+        webpAvailable = probeWebp();
+        if (!webpAvailable) {
+            log.warn("WebP encoder not available on this platform; posters get JPEG copies only");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Completes with null when the file is missing, isn't a readable image, is too
+    // large, resizing failed, or the backlog is full
+    public CompletableFuture<Result> generate(String imageUrl) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return render(imageUrl);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not resize poster {}", imageUrl, e);
+                    return null;
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Poster job for {} refused (backlog full or shutting down); left for the next startup", imageUrl);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    Result render(String imageUrl) throws IOException {
+        Path original = fileStorageService.resolve(imageUrl);
+        if (original == null || !Files.isRegularFile(original)) {
+            return null;
+        }
+
+        byte[] bytes = Files.readAllBytes(original);
+        String hash = FileStorageService.contentHash(bytes);
+        Path dir = fileStorageService.getStoragePath();
+        if (allExist(dir, hash)) {
+            return new Result(hash, webpAvailable);
+        }
+
+        BufferedImage source = decode(bytes, imageUrl);
+        if (source == null) {
+            return null;
+        }
+        BufferedImage rgb = toRgb(source);
+
+        for (PosterSize size : PosterSize.values()) {
+            // Never upscale: a small original is copied at its own width
+            BufferedImage scaled = scale(rgb, Math.min(size.getWidth(), rgb.getWidth()));
+            write(scaled, "image/jpeg", JPEG_QUALITY, dir.resolve(size.fileName(hash, "jpg")));
+            if (webpAvailable) {
+                write(scaled, "image/webp", WEBP_QUALITY, dir.resolve(size.fileName(hash, "webp")));
+            }
+        }
+        return new Result(hash, webpAvailable);
+    }
+
+    // Null when no reader understands the bytes or the header claims too many pixels
+    private static BufferedImage decode(byte[] bytes, String imageUrl) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) {
+                    log.warn("Poster {} is {} pixels, over the {} limit; not resized", imageUrl, pixels, MAX_PIXELS);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private boolean allExist(Path dir, String hash) {
+        return Arrays.stream(PosterSize.values()).allMatch(size ->
+                Files.exists(dir.resolve(size.fileName(hash, "jpg")))
+                        && (!webpAvailable || Files.exists(dir.resolve(size.fileName(hash, "webp")))));
+    }
+
+    // Halve repeatedly, then one final step: a single big bilinear jump would alias badly
+    static BufferedImage scale(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round(source.getHeight() * (float) width / source.getWidth()));
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width) {
+            current = draw(current, current.getWidth() / 2, Math.max(1, current.getHeight() / 2));
+        }
+        return current.getWidth() == width && current.getHeight() == height
+                ? current
+                : draw(current, width, height);
+    }
+
+    // JPEG has no alpha; transparent areas become white
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+        g.drawImage(source, 0, 0, null);
+        g.dispose();
+        return rgb;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return target;
+    }
+
+    // Written to a temp file and moved into place, so a half-written copy is never served
+    private static void write(BufferedImage image, String mimeType, float quality, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".poster", ".tmp");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                encode(image, mimeType, quality, out);
+            }
+            makeWorldReadable(temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Temp files are created owner-only; copies should be readable like any other upload
+    private static void makeWorldReadable(Path path) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-r--r--"));
+        } catch (UnsupportedOperationException ignored) {
+            // Not a POSIX file system
+        }
+    }
+
+    private static void encode(BufferedImage image, String mimeType, float quality, ImageOutputStream out) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType(mimeType);
+        if (!writers.hasNext()) {
+            throw new IOException("No ImageIO writer for " + mimeType);
+        }
+        ImageWriter writer = writers.next();
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null) {
+                    param.setCompressionType(Arrays.asList(types).contains("Lossy") ? "Lossy" : types[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // The WebP plugin loads libwebp on first use; an unsupported platform only shows up then
+    private static boolean probeWebp() {
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(new ByteArrayOutputStream())) {
+            encode(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "image/webp", WEBP_QUALITY, out);
+            return true;
+        } catch (IOException | LinkageError | RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.example.backend.entity.Events;
 import com.example.backend.entity.Tickets;
 import com.example.backend.repository.BookingRepository;
 import com.example.backend.repository.TicketRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -13,7 +14,6 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 public class QrGeneratorService {
@@ -24,6 +24,10 @@ public class QrGeneratorService {
     @Autowired
     private TicketRepository ticketRepository;
 
+    @Autowired
+    private QrPayloadCodec qrPayloadCodec;
+
+    @Timed(value = "qr.generate", percentiles = {0.5, 0.99})
     @Transactional
     public List<String> generateTicketsForBooking(Long bookingId) {
         if (ticketRepository.existsByBookingId(bookingId)) {
@@ -36,9 +40,9 @@ public class QrGeneratorService {
         Bookings booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        String userName = booking.getUser().getName();
         int totalTickets = booking.getTotalTickets();
-        List<String> qrCodes = new ArrayList<>();
+        List<String> qrCodes = new ArrayList<>(totalTickets);
+        List<Tickets> tickets = new ArrayList<>(totalTickets);
 
         for (int i = 1; i <= totalTickets; i++) {
             Tickets ticket = new Tickets();
@@ -46,23 +50,23 @@ public class QrGeneratorService {
             ticket.setEvent(booking.getEvent());
             ticket.setTicketNumber(i);
 
-            String qrContent = String.format(
-                    "%d|%d|%d|%s|%s",
+            String qrContent = qrPayloadCodec.encode(
                     booking.getId(),
                     booking.getEvent().getId(),
-                    i,
-                    userName,
-                    UUID.randomUUID().toString()
+                    i
             );
 
             ticket.setQrCode(qrContent);
-            ticketRepository.save(ticket);
+            tickets.add(ticket);
             qrCodes.add(qrContent);
         }
 
+        // Sent as JDBC batches of hibernate.jdbc.batch_size on flush
+        ticketRepository.saveAll(tickets);
+
         booking.setQrGenerated(true);
         bookingRepository.save(booking);
 
         return qrCodes;
     }
-}
\ No newline at end of file
+}
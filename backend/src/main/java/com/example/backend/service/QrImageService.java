@@ -0,0 +1,184 @@
+package com.example.backend.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Renders ticket QR codes with ZXing and keeps the encoded bytes in an LRU
+// bounded by total size (qr.image-cache.max-bytes), keyed by format, size and content.
+@Service
+public class QrImageService {
+
+    public static final int MIN_SIZE = 64;
+    public static final int MAX_SIZE = 1024;
+
+    private static final Map<EncodeHintType, Object> HINTS = Map.of(
+            EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M,
+            EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name(),
+            EncodeHintType.MARGIN, 2
+    );
+
+    public enum Format {
+        PNG("image/png"),
+        SVG("image/svg+xml");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    public static final class Image {
+        private final byte[] bytes;
+        private final String etag;
+        private final Format format;
+
+        Image(byte[] bytes, String etag, Format format) {
+            this.bytes = bytes;
+            this.etag = etag;
+            this.format = format;
+        }
+
+        public byte[] getBytes() { return bytes; }
+        public String getEtag() { return etag; }
+        public String getContentType() { return format.getContentType(); }
+    }
+
+    private final long maxBytes;
+
+    // Access-ordered, guarded by "this"; rendering happens outside the lock
+    private final LinkedHashMap<String, Image> cache = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public QrImageService(@Value("${qr.image-cache.max-bytes:16777216}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public Image render(String content, Format format, int size) {
+        int clamped = Math.max(MIN_SIZE, Math.min(MAX_SIZE, size));
+        String key = format + ":" + clamped + ":" + content;
+
+        synchronized (this) {
+            Image cached = cache.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+
+        byte[] bytes = format == Format.PNG ? renderPng(content, clamped) : renderSvg(content, clamped);
+        Image image = new Image(bytes, etag(bytes), format);
+
+        synchronized (this) {
+            Image previous = cache.put(key, image);
+            cachedBytes += bytes.length - (previous != null ? previous.bytes.length : 0);
+
+            Iterator<Image> eldest = cache.values().iterator();
+            while (cachedBytes > maxBytes && eldest.hasNext()) {
+                cachedBytes -= eldest.next().bytes.length;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        return image;
+    }
+
+    public synchronized Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", cache.size());
+        stats.put("bytes", cachedBytes);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private byte[] renderPng(String content, int size) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+            MatrixToImageWriter.writeToStream(encode(content, size), "PNG", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to render QR code", e);
+        }
+    }
+
+    // One module per SVG unit, one path for all dark modules
+    private byte[] renderSvg(String content, int size) {
+        BitMatrix matrix = encode(content, 0);
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        StringBuilder svg = new StringBuilder(8192);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ")
+                .append(width).append(' ').append(height)
+                .append("\" width=\"").append(size).append("\" height=\"").append(size)
+                .append("\" shape-rendering=\"crispEdges\">")
+                .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path fill=\"#000\" d=\"");
+
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                svg.append('M').append(start).append(',').append(y)
+                        .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+        svg.append("\"/></svg>");
+        return svg.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private BitMatrix encode(String content, int size) {
+        try {
+            return new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, size, size, HINTS);
+        } catch (WriterException e) {
+            throw new RuntimeException("Failed to encode QR code", e);
+        }
+    }
+
+    // Strong ETag over the exact bytes served
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+// Compact signed QR content:
+//   "NB" + base45( version:1 | bookingId:varint | eventId:varint | ticketNumber:varint | tag:8 )
+// where tag = first 8 bytes of HMAC-SHA256 over the bytes before it. Base45 (RFC 9285)
+// fits QR alphanumeric mode, and at ~25 chars the codes are far less dense than the old
+// "bookingId|eventId|n|name|uuid" strings, which are still accepted (see check()).
+@Component
+public class QrPayloadCodec {
+
+    public static final String PREFIX = "NB";
+
+    private static final byte VERSION = 1;
+    private static final int TAG_LENGTH = 8;
+    private static final String BASE45 = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:";
+
+    public enum Verdict {
+        VALID,      // signed code with a good tag
+        LEGACY,     // pre-signing format, only the database can tell
+        INVALID     // forged, mistyped or unknown format
+    }
+
+    public static final class Payload {
+        private final long bookingId;
+        private final long eventId;
+        private final int ticketNumber;
+
+        Payload(long bookingId, long eventId, int ticketNumber) {
+            this.bookingId = bookingId;
+            this.eventId = eventId;
+            this.ticketNumber = ticketNumber;
+        }
+
+        public long getBookingId() { return bookingId; }
+        public long getEventId() { return eventId; }
+        public int getTicketNumber() { return ticketNumber; }
+    }
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    // Without a qr.signing-key of its own the key is HMAC(jwt.secret-key, "qr-v1"),
+    // so tokens and tickets are never signed with the same key
+    @Autowired
+    public QrPayloadCodec(@Value("${qr.signing-key:}") String signingKey,
+                          @Value("${jwt.secret-key}") String jwtSecret) {
+        this(signingKey.isEmpty() ? deriveKey(jwtSecret) : signingKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public QrPayloadCodec(String signingKey) {
+        this(signingKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private QrPayloadCodec(byte[] signingKey) {
+        this.key = new SecretKeySpec(signingKey, "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String encode(long bookingId, long eventId, int ticketNumber) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+        out.write(VERSION);
+        writeVarint(out, bookingId);
+        writeVarint(out, eventId);
+        writeVarint(out, ticketNumber);
+
+        byte[] body = out.toByteArray();
+        out.write(tag(body, body.length), 0, TAG_LENGTH);
+        return PREFIX + base45Encode(out.toByteArray());
+    }
+
+    // Cheap pre-check before any database work
+    public Verdict check(String qrCode) {
+        if (qrCode == null || qrCode.isEmpty()) {
+            return Verdict.INVALID;
+        }
+        if (!qrCode.startsWith(PREFIX)) {
+            return qrCode.indexOf('|') > 0 ? Verdict.LEGACY : Verdict.INVALID;
+        }
+        return decode(qrCode) != null ? Verdict.VALID : Verdict.INVALID;
+    }
+
+    // Null unless the code is a well-formed, correctly signed payload
+    public Payload decode(String qrCode) {
+        if (qrCode == null || !qrCode.startsWith(PREFIX)) {
+            return null;
+        }
+
+        byte[] bytes = base45Decode(qrCode, PREFIX.length());
+        if (bytes == null || bytes.length < 1 + 3 + TAG_LENGTH || bytes[0] != VERSION) {
+            return null;
+        }
+
+        int bodyLength = bytes.length - TAG_LENGTH;
+        byte[] expected = tag(bytes, bodyLength);
+        byte[] actual = Arrays.copyOfRange(bytes, bodyLength, bytes.length);
+        if (!MessageDigest.isEqual(Arrays.copyOf(expected, TAG_LENGTH), actual)) {
+            return null;
+        }
+
+        int[] pos = {1};
+        long bookingId = readVarint(bytes, pos, bodyLength);
+        long eventId = readVarint(bytes, pos, bodyLength);
+        long ticketNumber = readVarint(bytes, pos, bodyLength);
+        if (bookingId < 0 || eventId < 0 || ticketNumber < 0
+                || ticketNumber > Integer.MAX_VALUE || pos[0] != bodyLength) {
+            return null;
+        }
+        return new Payload(bookingId, eventId, (int) ticketNumber);
+    }
+
+    private byte[] tag(byte[] bytes, int length) {
+        Mac m = mac.get();
+        m.update(bytes, 0, length);
+        return m.doFinal();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance("HmacSHA256");
+            m.init(key);
+            return m;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static byte[] deriveKey(String secret) {
+        try {
+            Mac m = Mac.getInstance("HmacSHA256");
+            m.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return m.doFinal("qr-v1".getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    // -1 on malformed input
+    private static long readVarint(byte[] bytes, int[] pos, int limit) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (pos[0] >= limit) {
+                return -1;
+            }
+            byte b = bytes[pos[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    static String base45Encode(byte[] bytes) {
+        StringBuilder sb = new StringBuilder((bytes.length / 2) * 3 + 2);
+        for (int i = 0; i + 1 < bytes.length; i += 2) {
+            int n = ((bytes[i] & 0xFF) << 8) | (bytes[i + 1] & 0xFF);
+            sb.append(BASE45.charAt(n % 45))
+                    .append(BASE45.charAt((n / 45) % 45))
+                    .append(BASE45.charAt(n / 2025));
+        }
+        if (bytes.length % 2 == 1) {
+            int n = bytes[bytes.length - 1] & 0xFF;
+            sb.append(BASE45.charAt(n % 45)).append(BASE45.charAt(n / 45));
+        }
+        return sb.toString();
+    }
+
+    // Null on characters outside the alphabet or impossible lengths/values
+    static byte[] base45Decode(String text, int offset) {
+        int length = text.length() - offset;
+        if (length % 3 == 1) {
+            return null;
+        }
+
+        byte[] out = new byte[(length / 3) * 2 + (length % 3 == 2 ? 1 : 0)];
+        int o = 0;
+        for (int i = offset; i < text.length(); i += 3) {
+            int c = BASE45.indexOf(text.charAt(i));
+            int d = BASE45.indexOf(text.charAt(i + 1));
+            if (c < 0 || d < 0) {
+                return null;
+            }
+            if (i + 2 < text.length()) {
+                int e = BASE45.indexOf(text.charAt(i + 2));
+                int n = c + d * 45 + (e < 0 ? 0 : e * 2025);
+                if (e < 0 || n > 0xFFFF) {
+                    return null;
+                }
+                out[o++] = (byte) (n >> 8);
+                out[o++] = (byte) n;
+            } else {
+                int n = c + d * 45;
+                if (n > 0xFF) {
+                    return null;
+                }
+                out[o++] = (byte) n;
+            }
+        }
+        return out;
+    }
+}
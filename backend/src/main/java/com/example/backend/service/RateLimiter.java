@@ -0,0 +1,182 @@
+package com.example.backend.service;
+
+import com.example.backend.config.RateLimitConfig;
+import com.example.backend.exception.RateLimitedException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Token buckets per route and key (user, client IP or event), configured under
+// rate-limit.rules.*. Each bucket is a single AtomicLong holding the time at which
+// it will be full again (the GCRA form of a token bucket), so taking a token is
+// one CAS with no locks and no per-key timers.
+@Service
+public class RateLimiter {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    // At most one early sweep per rule per second while a key flood lasts
+    private static final long FLOOD_SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static final class RuleState {
+        final String name;
+        final RateLimitConfig.Rule rule;
+        final long intervalNanos;
+        final long burstNanos;
+        final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        // Shared by new keys while the rule is at maxKeysPerRule
+        final AtomicLong overflow = new AtomicLong(System.nanoTime());
+        final AtomicLong lastFloodSweep = new AtomicLong(System.nanoTime() - FLOOD_SWEEP_INTERVAL_NANOS);
+        final LongAdder allowed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder overflowed = new LongAdder();
+
+        RuleState(String name, RateLimitConfig.Rule rule) {
+            this.name = name;
+            this.rule = rule;
+            this.intervalNanos = (long) (1_000_000_000L / rule.getRefillPerSecond());
+            this.burstNanos = intervalNanos * rule.getCapacity();
+        }
+
+        boolean matches(HttpServletRequest request) {
+            return rule.getMethod().equalsIgnoreCase(request.getMethod())
+                    && PATHS.match(rule.getPath(), request.getRequestURI());
+        }
+    }
+
+    private final RateLimitConfig config;
+    private final List<RuleState> rules = new ArrayList<>();
+
+    public RateLimiter(RateLimitConfig config) {
+        this.config = config;
+        config.getRules().forEach((name, rule) -> rules.add(new RuleState(name, rule)));
+    }
+
+    // User and IP rules; runs in the security filter chain, before the request body is read
+    public void checkRequest(HttpServletRequest request) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (RuleState state : rules) {
+            if (state.rule.getKey() == RateLimitConfig.KeyType.EVENT || !state.matches(request)) {
+                continue;
+            }
+            Object userId = request.getAttribute("userId");
+            String key = state.rule.getKey() == RateLimitConfig.KeyType.USER && userId != null
+                    ? "user:" + userId
+                    : "ip:" + clientIp(request);
+            acquire(state, key);
+        }
+    }
+
+    // Event rules; called once the handler knows which event the request is for
+    public void checkEvent(HttpServletRequest request, Long eventId) {
+        if (!config.isEnabled() || eventId == null) {
+            return;
+        }
+        for (RuleState state : rules) {
+            if (state.rule.getKey() == RateLimitConfig.KeyType.EVENT && state.matches(request)) {
+                acquire(state, "event:" + eventId);
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        for (RuleState state : rules) {
+            Map<String, Object> rule = new HashMap<>();
+            rule.put("key", state.rule.getKey());
+            rule.put("capacity", state.rule.getCapacity());
+            rule.put("refillPerSecond", state.rule.getRefillPerSecond());
+            rule.put("trackedKeys", state.buckets.size());
+            rule.put("allowed", state.allowed.sum());
+            rule.put("rejected", state.rejected.sum());
+            rule.put("overflowed", state.overflowed.sum());
+            stats.put(state.name, rule);
+        }
+        return stats;
+    }
+
+    // A bucket whose refill time has passed is full and carries no state worth keeping
+    @Scheduled(fixedDelay = 60_000)
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        for (RuleState state : rules) {
+            sweep(state, now);
+        }
+    }
+
+    private static void sweep(RuleState state, long now) {
+        state.buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    private void acquire(RuleState state, String key) {
+        long waitNanos = tryAcquire(state, key);
+        if (waitNanos == 0) {
+            state.allowed.increment();
+            return;
+        }
+        state.rejected.increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        throw new RateLimitedException("Too many requests, retry in " + retryAfterSeconds + "s", retryAfterSeconds);
+    }
+
+    // Returns 0 when a token was taken, otherwise how long until one is available
+    private long tryAcquire(RuleState state, String key) {
+        AtomicLong bucket = state.buckets.get(key);
+        if (bucket == null) {
+            bucket = newBucket(state, key);
+        }
+
+        while (true) {
+            long now = System.nanoTime();
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + state.intervalNanos;
+            long over = next - now - state.burstNanos;
+            if (over > 0) {
+                return over;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Key flood (e.g. many source addresses): keys that already have a bucket keep
+    // it, and once sweeping full buckets frees nothing the newcomers share one
+    private AtomicLong newBucket(RuleState state, String key) {
+        int max = config.getMaxKeysPerRule();
+        if (state.buckets.size() >= max) {
+            long now = System.nanoTime();
+            long last = state.lastFloodSweep.get();
+            if (now - last >= FLOOD_SWEEP_INTERVAL_NANOS && state.lastFloodSweep.compareAndSet(last, now)) {
+                sweep(state, now);
+            }
+            if (state.buckets.size() >= max) {
+                state.overflowed.increment();
+                return state.overflow;
+            }
+        }
+        return state.buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (config.isTrustForwardedFor()) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -2,14 +2,23 @@ package com.example.backend.service;
 
 import com.example.backend.entity.Tickets;
 import com.example.backend.repository.TicketRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class TicketService {
@@ -17,42 +26,170 @@ public class TicketService {
     @Autowired
     private TicketRepository ticketRepository;
 
+    @Autowired
+    private QrPayloadCodec qrPayloadCodec;
+
+    @Autowired
+    private CheckInStatsService checkInStatsService;
+
     @Transactional
     public Map<String, Object> validateTicket(String qrCode) {
+        return validateTicket(qrCode, null);
+    }
+
+    // One round trip: the conditional UPDATE both decides and records admission,
+    // so two gates scanning the same code can never both admit it
+    // checkerId feeds the live per-checker numbers; null when unknown
+    @Timed(value = "ticket.validate", percentiles = {0.5, 0.99})
+    @Transactional
+    public Map<String, Object> validateTicket(String qrCode, Long checkerId) {
         Map<String, Object> response = new HashMap<>();
 
-        Tickets ticket = ticketRepository.findByQrCode(qrCode)
-                .orElseThrow(() -> new RuntimeException("Invalid ticket"));
+        // Forged or mistyped codes never reach the database
+        if (qrPayloadCodec.check(qrCode) == QrPayloadCodec.Verdict.INVALID) {
+            throw new RuntimeException("Invalid ticket");
+        }
+
+        List<Object[]> rows = ticketRepository.checkIn(qrCode, LocalDateTime.now());
+        if (rows.isEmpty()) {
+            // A correctly signed code for a ticket that no longer exists still names its event
+            QrPayloadCodec.Payload payload = qrPayloadCodec.decode(qrCode);
+            if (payload != null) {
+                checkInStatsService.record(payload.getEventId(), checkerId, CheckInStatsService.Outcome.INVALID);
+            }
+            throw new RuntimeException("Invalid ticket");
+        }
+
+        Object[] row = rows.get(0);
+        boolean admitted = (Boolean) row[4];
+        checkInStatsService.record(((Number) row[8]).longValue(), checkerId,
+                admitted ? CheckInStatsService.Outcome.ADMITTED : CheckInStatsService.Outcome.DUPLICATE);
 
-        if (ticket.isCheckedIn()) {
+        if (!admitted) {
             response.put("status", "error");
             response.put("message", "Ticket already used");
-            response.put("ticketNumber", ticket.getTicketNumber());
-            response.put("eventName", ticket.getEvent().getName());
-            response.put("usedAt", ticket.getCheckedInAt());
+            response.put("ticketNumber", row[0]);
+            response.put("eventName", row[2]);
+            response.put("usedAt", toLocalDateTime(row[5]));
             return response;
         }
 
-        ticket.setCheckedIn(true);
-        ticket.setCheckedInAt(LocalDateTime.now());
-        ticketRepository.save(ticket);
-
-        Long bookingId = ticket.getBooking().getId();
-        long scannedCount = ticketRepository.countScannedTicketsByBookingId(bookingId);
-        List<Tickets> allTickets = ticketRepository.findByBookingId(bookingId);
-
         response.put("status", "success");
         response.put("message", "Valid ticket! Enjoy the event!");
-        response.put("ticketNumber", ticket.getTicketNumber());
-        response.put("eventName", ticket.getEvent().getName());
-        response.put("attendeeName", ticket.getBooking().getUser().getName());
-        response.put("bookingId", bookingId);
-        response.put("scannedTickets", scannedCount);
-        response.put("totalTickets", (long) allTickets.size());
+        response.put("ticketNumber", row[0]);
+        response.put("eventName", row[2]);
+        response.put("attendeeName", row[3]);
+        response.put("bookingId", ((Number) row[1]).longValue());
+        response.put("scannedTickets", ((Number) row[6]).longValue());
+        response.put("totalTickets", ((Number) row[7]).longValue());
 
         return response;
     }
 
+    public static final int MAX_BATCH_SIZE = 500;
+
+    // Checks in a burst of scans with three statements in total: one set-based
+    // UPDATE, one lookup of the scanned tickets and one count per booking.
+    // Each result has the same shape as validateTicket's response, plus qrCode.
+    @Transactional
+    public Map<String, Object> validateBatch(List<String> qrCodes) {
+        return validateBatch(qrCodes, null);
+    }
+
+    @Transactional
+    public Map<String, Object> validateBatch(List<String> qrCodes, Long checkerId) {
+        if (qrCodes == null || qrCodes.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No QR codes given");
+        }
+        if (qrCodes.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_SIZE + " QR codes per batch");
+        }
+
+        // Forged or mistyped codes are dropped before the database sees them
+        Set<String> distinctCodes = new LinkedHashSet<>();
+        for (String qrCode : qrCodes) {
+            if (qrPayloadCodec.check(qrCode) != QrPayloadCodec.Verdict.INVALID) {
+                distinctCodes.add(qrCode);
+            }
+        }
+
+        // Postgres keeps microseconds, so truncate to compare the stamp exactly afterwards
+        LocalDateTime stamp = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        Map<String, Object[]> details = new HashMap<>();
+        Set<Long> admittedBookings = new HashSet<>();
+        if (!distinctCodes.isEmpty()) {
+            ticketRepository.checkInAll(distinctCodes, stamp);
+
+            for (Object[] row : ticketRepository.findScanDetailsByQrCodeIn(distinctCodes)) {
+                details.put((String) row[0], row);
+                if (stamp.equals(row[1])) {
+                    admittedBookings.add((Long) row[3]);
+                }
+            }
+        }
+
+        Map<Long, long[]> counts = new HashMap<>();
+        if (!admittedBookings.isEmpty()) {
+            for (Object[] row : ticketRepository.countTicketsByBookingIds(admittedBookings)) {
+                counts.put((Long) row[0], new long[]{((Number) row[1]).longValue(), ((Number) row[2]).longValue()});
+            }
+        }
+
+        int admitted = 0;
+        Set<String> seen = new HashSet<>();
+        List<Map<String, Object>> results = new ArrayList<>(qrCodes.size());
+
+        for (String qrCode : qrCodes) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("qrCode", qrCode);
+            results.add(result);
+
+            Object[] row = details.get(qrCode);
+            if (row == null) {
+                QrPayloadCodec.Payload payload = qrPayloadCodec.decode(qrCode);
+                if (payload != null) {
+                    checkInStatsService.record(payload.getEventId(), checkerId, CheckInStatsService.Outcome.INVALID);
+                }
+                result.put("status", "error");
+                result.put("message", "Invalid ticket");
+                continue;
+            }
+
+            LocalDateTime checkedInAt = (LocalDateTime) row[1];
+            Long eventId = (Long) row[6];
+            result.put("ticketNumber", row[2]);
+            result.put("eventName", row[4]);
+
+            // Only the first occurrence of a code in the batch can be the admitting one
+            if (!stamp.equals(checkedInAt) || !seen.add(qrCode)) {
+                checkInStatsService.record(eventId, checkerId, CheckInStatsService.Outcome.DUPLICATE);
+                result.put("status", "error");
+                result.put("message", "Ticket already used");
+                result.put("usedAt", checkedInAt);
+                continue;
+            }
+
+            Long bookingId = (Long) row[3];
+            long[] bookingCounts = counts.get(bookingId);
+            result.put("status", "success");
+            result.put("message", "Valid ticket! Enjoy the event!");
+            result.put("attendeeName", row[5]);
+            result.put("bookingId", bookingId);
+            result.put("scannedTickets", bookingCounts[0]);
+            result.put("totalTickets", bookingCounts[1]);
+            checkInStatsService.record(eventId, checkerId, CheckInStatsService.Outcome.ADMITTED);
+            admitted++;
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("admitted", admitted);
+        response.put("rejected", qrCodes.size() - admitted);
+        response.put("results", results);
+        return response;
+    }
+
     public Map<String, Object> getTicketStatus(Long bookingId) {
         Map<String, Object> response = new HashMap<>();
 
@@ -77,4 +214,11 @@ public class TicketService {
 
         return response;
     }
-}
\ No newline at end of file
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
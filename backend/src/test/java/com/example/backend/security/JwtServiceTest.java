@@ -0,0 +1,94 @@
+package com.example.backend.security;
+
+import com.example.backend.config.JwtConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+
+    private static JwtService service(long tokenExpirationMillis) {
+        JwtConfig config = new JwtConfig();
+        config.setSecretKey("abcdefghijklmnopqrstuvwxyz0123456789ABCD");
+        config.setTokenExpiration(tokenExpirationMillis);
+
+        JwtService service = new JwtService();
+        service.jwtConfig = config;
+        service.init();
+        return service;
+    }
+
+    @Test
+    void secondParseIsServedFromCache() {
+        JwtService jwt = service(60_000);
+        String token = jwt.createToken(42L, "a@test.local", "ADMIN");
+
+        JwtPrincipal first = jwt.parseToken(token);
+        JwtPrincipal second = jwt.parseToken(token);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(42L, second.getUserId());
+        assertEquals("ADMIN", second.getRole());
+        assertEquals(1L, jwt.getCacheStats().get("hits"));
+        assertEquals(1L, jwt.getCacheStats().get("misses"));
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceExpired() throws Exception {
+        JwtService jwt = service(1_000);
+        String token = jwt.createToken(1L, "b@test.local", "USER");
+        assertNotNull(jwt.parseToken(token));
+
+        Thread.sleep(1_100);
+
+        assertNull(jwt.parseToken(token));
+        assertEquals(0L, jwt.getCacheStats().get("hits"));
+        assertEquals(0, jwt.getCacheStats().get("size"));
+    }
+
+    @Test
+    void tamperedTokenIsNotCached() {
+        JwtService jwt = service(60_000);
+        String token = jwt.createToken(1L, "c@test.local", "USER");
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertNull(jwt.parseToken(tampered));
+        assertEquals(0, jwt.getCacheStats().get("size"));
+    }
+
+    @Test
+    void cacheStaysWithinItsBound() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        long later = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 25; i++) {
+            cache.put("token-" + i, new JwtPrincipal((long) i, "u" + i, "USER", later));
+            assertTrue((int) cache.getStats().get("size") <= 10);
+        }
+        assertEquals(15L, cache.getStats().get("evictions"));
+    }
+
+    @Test
+    void expiredEntriesAreDroppedBeforeLiveOnes() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        long earlier = System.currentTimeMillis() - 1;
+        long later = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 5; i++) {
+            cache.put("expired-" + i, new JwtPrincipal((long) i, "e" + i, "USER", earlier));
+        }
+        for (int i = 0; i < 5; i++) {
+            cache.put("live-" + i, new JwtPrincipal((long) i, "l" + i, "USER", later));
+        }
+
+        cache.put("live-5", new JwtPrincipal(5L, "l5", "USER", later));
+
+        assertEquals(6, cache.getStats().get("size"));
+        for (int i = 0; i <= 5; i++) {
+            assertNotNull(cache.get("live-" + i));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.service;
+
+import com.example.backend.config.AccessLogConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogTest {
+
+    private static AccessLog.Entry entry(long n) {
+        return new AccessLog.Entry(n, "GET", "/api/events/" + n, "/api/events/{id}", 200, n, null, null, "127.0.0.1", false);
+    }
+
+    @Test
+    void ringDropsWhenFullAndHandsOutEntriesInOrder() {
+        AccessLogConfig config = new AccessLogConfig();
+        config.setBufferSize(4);
+        AccessLog log = new AccessLog(config);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(log.offer(entry(i)));
+        }
+        assertFalse(log.offer(entry(4)));
+
+        assertEquals(0, log.poll().timestamp);
+        assertTrue(log.offer(entry(5)));
+        assertEquals(1, log.poll().timestamp);
+        assertEquals(2, log.poll().timestamp);
+        assertEquals(3, log.poll().timestamp);
+        assertEquals(5, log.poll().timestamp);
+        assertNull(log.poll());
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasAccepted() throws Exception {
+        AccessLogConfig config = new AccessLogConfig();
+        config.setBufferSize(1024);
+        AccessLog log = new AccessLog(config);
+
+        int producers = 4;
+        int perProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!log.offer(entry(base + i))) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        Set<Long> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            AccessLog.Entry entry = log.poll();
+            if (entry != null) {
+                assertTrue(seen.add(entry.timestamp));
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(log.poll());
+    }
+
+    @Test
+    void formatsOneJsonObjectPerLine() throws Exception {
+        AccessLog.Entry entry = new AccessLog.Entry(0, "POST", "/api/booking\"x", "/api/booking", 429, 1500,
+                42L, "USER", "10.0.0.1", false);
+        StringBuilder line = new StringBuilder();
+        AccessLog.format(entry, line);
+
+        assertTrue(line.toString().endsWith("}\n"));
+        JsonNode json = new ObjectMapper().readTree(line.toString());
+        assertEquals("/api/booking\"x", json.get("path").asText());
+        assertEquals(429, json.get("status").asInt());
+        assertEquals(42, json.get("userId").asLong());
+        assertEquals("1970-01-01T00:00:00Z", json.get("ts").asText());
+    }
+}
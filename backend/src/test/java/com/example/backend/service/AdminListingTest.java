@@ -0,0 +1,167 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BookingSummary;
+import com.example.backend.dto.UserDTO;
+import com.example.backend.entity.Events;
+import com.example.backend.entity.User;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AdminListingTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TestData data;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(userRepository, eventRepository, bookingRepository, jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        data.deleteAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bookingPagesContinueFromTheCursorWithoutGapsOrRepeats() {
+        User user = data.user("Page Tester");
+        Events event = data.event("Page Night", null);
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(0, data.booking(user, event, 1).getId());
+        }
+
+        // Start just above our newest booking so other rows in the database don't interfere
+        List<Long> seen = new ArrayList<>();
+        Long after = created.get(0) + 1;
+        int pages = 0;
+        while (seen.size() < created.size()) {
+            Map<String, Object> page = adminService.getBookingsPage(after, 2);
+            List<BookingSummary> rows = (List<BookingSummary>) page.get("bookings");
+            rows.forEach(row -> seen.add(row.getId()));
+            assertEquals(2, page.get("limit"));
+            if (seen.size() < created.size()) {
+                assertTrue((Boolean) page.get("hasNext"));
+                assertEquals(rows.get(rows.size() - 1).getId(), page.get("nextCursor"));
+            }
+            after = (Long) page.get("nextCursor");
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(created, seen.subList(0, created.size()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void userPagesEndWithoutACursor() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            created.add(data.user("Paged User " + i).getId());
+        }
+
+        Map<String, Object> first = adminService.getUsersPage("USER", created.get(0) - 1, 2);
+        Map<String, Object> second = adminService.getUsersPage("USER", (Long) first.get("nextCursor"), 2);
+
+        List<Long> ids = new ArrayList<>();
+        ((List<UserDTO>) first.get("users")).forEach(u -> ids.add(u.getId()));
+        ((List<UserDTO>) second.get("users")).forEach(u -> ids.add(u.getId()));
+        assertEquals(created, ids);
+        assertFalse((Boolean) second.get("hasNext"));
+        assertNull(second.get("nextCursor"));
+    }
+
+    @Test
+    void pageLimitIsBounded() {
+        ResponseStatusException zero = assertThrows(ResponseStatusException.class,
+                () -> adminService.getBookingsPage(null, 0));
+        ResponseStatusException tooMany = assertThrows(ResponseStatusException.class,
+                () -> adminService.getUsersPage(null, null, AdminService.MAX_PAGE_LIMIT + 1));
+
+        assertEquals(HttpStatus.BAD_REQUEST, zero.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, tooMany.getStatusCode());
+    }
+
+    @Test
+    void bookingStreamRunsInAReadOnlyTransaction() throws Exception {
+        User user = data.user("Stream Tester");
+        Events event = data.event("Stream Night", null);
+        Long first = data.booking(user, event, 1).getId();
+        Long second = data.booking(user, event, 2).getId();
+
+        // Checked from inside the write, i.e. while the cursor is still open
+        Set<String> observed = new HashSet<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                observed.add(TransactionSynchronizationManager.isActualTransactionActive()
+                        + "/" + TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                        + "/" + jdbcTemplate.queryForObject("SHOW transaction_read_only", String.class));
+                bytes.write(b, off, len);
+            }
+        };
+
+        adminService.streamBookings(out);
+
+        assertEquals(Set.of("true/true/on"), observed);
+        Set<Long> streamed = new HashSet<>();
+        for (String line : bytes.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode row = objectMapper.readTree(line);
+            streamed.add(row.get("id").asLong());
+        }
+        assertTrue(streamed.contains(first));
+        assertTrue(streamed.contains(second));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.backend.service;
+
+import com.example.backend.controller.AdminController;
+import com.example.backend.entity.Events;
+import com.example.backend.entity.User;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@WithMockUser(roles = "ADMIN")
+class AttendeeExportTest {
+
+    @Autowired
+    private AdminController adminController;
+
+    @Autowired
+    private QrGeneratorService qrGeneratorService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData data;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(userRepository, eventRepository, bookingRepository, jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        data.deleteAll();
+    }
+
+    @Test
+    void badCriteriaAreRejectedBeforeAnyHeaderIsWritten() {
+        LocalDate day = LocalDate.of(2026, 12, 1);
+        for (Object[] criteria : List.of(
+                new Object[]{null, null, null},
+                new Object[]{null, day, null},
+                new Object[]{null, day, day.minusDays(1)})) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> adminController.exportAttendees(
+                    (Long) criteria[0], (LocalDate) criteria[1], (LocalDate) criteria[2], response));
+
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+            assertNull(response.getContentType());
+            assertNull(response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+            assertFalse(response.isCommitted());
+        }
+    }
+
+    @Test
+    void formulasInNamesAreNeutralisedInTheDownload() throws IOException {
+        User user = data.user("=HYPERLINK(\"http://x\")");
+        Events event = data.event("+Launch, Night", null);
+        Long bookingId = data.booking(user, event, 1).getId();
+        qrGeneratorService.generateTicketsForBooking(bookingId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        adminController.exportAttendees(event.getId(), null, null, response);
+
+        assertEquals("application/gzip", response.getContentType());
+        assertEquals("attachment; filename=\"attendees-event-" + event.getId() + ".csv.gz\"",
+                response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        String[] lines = gunzip(response.getContentAsByteArray()).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith(bookingId + "," + event.getId() + ",\"'+Launch, Night\",2026-12-01T20:00,"
+                + "\"'=HYPERLINK(\"\"http://x\"\")\","), lines[1]);
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
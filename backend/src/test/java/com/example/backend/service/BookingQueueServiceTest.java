@@ -0,0 +1,178 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BookingQueueConfig;
+import com.example.backend.entity.Events;
+import com.example.backend.entity.User;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Each test builds its own queue with one worker that starts only after the
+// requests are in, so they all land in one batch in a known order
+@SpringBootTest
+class BookingQueueServiceTest {
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData data;
+    private BookingQueueService queue;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(userRepository, eventRepository, bookingRepository, jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (queue != null) {
+            queue.stopWorkers();
+        }
+        data.deleteAll();
+    }
+
+    private BookingQueueService queue(int capacity) {
+        BookingQueueConfig config = new BookingQueueConfig();
+        config.setWorkers(1);
+        config.setCapacity(capacity);
+        queue = new BookingQueueService(config);
+        beanFactory.autowireBean(queue);
+        return queue;
+    }
+
+    @Test
+    void requestsAreBookedInArrivalOrder() throws Exception {
+        User user = data.user("Fifo Tester");
+        Events event = data.event("Fifo Night", null);
+        BookingQueueService queue = queue(100);
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Map<String, Object> view = queue.enqueue(user.getId(), event.getId(), i);
+            assertEquals((long) i, view.get("position"));
+            tokens.add((String) view.get("token"));
+        }
+        queue.startWorkers();
+
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            Map<String, Object> result = queue.poll(tokens.get(i), user.getId(), 10).get();
+            assertEquals(BookingQueueService.Status.CONFIRMED, result.get("status"));
+            assertEquals(i + 1, bookingRepository.findById((Long) result.get("bookingId")).orElseThrow().getTotalTickets());
+            bookingIds.add((Long) result.get("bookingId"));
+        }
+        assertEquals(bookingIds.stream().sorted().toList(), bookingIds);
+    }
+
+    @Test
+    void onlyTheRequestTheDatabaseGuardRejectsFailsInABatch() throws Exception {
+        User user = data.user("Guard Tester");
+        Events event = data.event("Guard Night", 10);
+        BookingQueueService queue = queue(100);
+
+        List<String> tokens = new ArrayList<>();
+        for (int tickets : new int[]{1, 5, 1}) {
+            tokens.add((String) queue.enqueue(user.getId(), event.getId(), tickets).get("token"));
+        }
+        // Another instance sold 8 seats: this instance's counter still says 10
+        jdbcTemplate.update("UPDATE events SET remaining = 2 WHERE id = ?", event.getId());
+        queue.startWorkers();
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String token : tokens) {
+            results.add(queue.poll(token, user.getId(), 10).get());
+        }
+
+        assertEquals(BookingQueueService.Status.CONFIRMED, results.get(0).get("status"));
+        assertEquals(BookingQueueService.Status.REJECTED, results.get(1).get("status"));
+        assertEquals(409, results.get(1).get("httpStatus"));
+        assertNull(results.get(1).get("bookingId"));
+        assertEquals(BookingQueueService.Status.CONFIRMED, results.get(2).get("status"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT remaining FROM events WHERE id = ?", Integer.class, event.getId()));
+        assertEquals(2, bookingRepository.findSummariesByUserId(user.getId()).size());
+    }
+
+    @Test
+    void unexpectedFailureIsRejectedWithAGenericMessage() throws Exception {
+        User user = data.user("Failure Tester");
+        Events event = data.event("Failure Night", null);
+        BookingQueueService queue = queue(100);
+
+        String good = (String) queue.enqueue(user.getId(), event.getId(), 1).get("token");
+        // No such user: the insert breaks the batch's commit on a foreign key
+        String bad = (String) queue.enqueue(Long.MAX_VALUE, event.getId(), 1).get("token");
+        queue.startWorkers();
+
+        Map<String, Object> confirmed = queue.poll(good, user.getId(), 10).get();
+        Map<String, Object> failed = queue.poll(bad, Long.MAX_VALUE, 10).get();
+
+        assertEquals(BookingQueueService.Status.CONFIRMED, confirmed.get("status"));
+        assertEquals(BookingQueueService.Status.REJECTED, failed.get("status"));
+        assertEquals(500, failed.get("httpStatus"));
+        assertEquals("Booking failed, please try again", failed.get("message"));
+    }
+
+    @Test
+    void fullWaitingRoomAnswers503() {
+        User user = data.user("Capacity Tester");
+        Events event = data.event("Capacity Night", null);
+        BookingQueueService queue = queue(2);
+
+        queue.enqueue(user.getId(), event.getId(), 1);
+        queue.enqueue(user.getId(), event.getId(), 1);
+        ResponseStatusException full = assertThrows(ResponseStatusException.class,
+                () -> queue.enqueue(user.getId(), event.getId(), 1));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, full.getStatusCode());
+        assertEquals(2, queue.getStats().get("tracked"));
+    }
+
+    @Test
+    void onlyTheOwnerCanPollAToken() throws Exception {
+        User owner = data.user("Owner Tester");
+        User other = data.user("Other Tester");
+        Events event = data.event("Owner Night", null);
+        BookingQueueService queue = queue(100);
+        String token = (String) queue.enqueue(owner.getId(), event.getId(), 1).get("token");
+
+        ResponseStatusException foreign = assertThrows(ResponseStatusException.class,
+                () -> queue.poll(token, other.getId(), 0));
+        ResponseStatusException unknown = assertThrows(ResponseStatusException.class,
+                () -> queue.poll("no-such-token", owner.getId(), 0));
+
+        assertEquals(HttpStatus.NOT_FOUND, foreign.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, unknown.getStatusCode());
+        assertEquals(BookingQueueService.Status.QUEUED, queue.poll(token, owner.getId(), 0).get().get("status"));
+        assertTrue(queue.poll(token, owner.getId(), 0).get().containsKey("position"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BookingSummary;
+import com.example.backend.entity.Events;
+import com.example.backend.entity.User;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingSummaryQueryTest {
+
+    @Autowired
+    private QrGeneratorService qrGeneratorService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TestData data;
+    private User user;
+    private Events event;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(userRepository, eventRepository, bookingRepository, jdbcTemplate);
+        user = data.user("Summary Tester");
+        event = data.event("Summary Night", 50);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        data.deleteAll();
+    }
+
+    @Test
+    void countsOnlyCheckedInTicketsOfEachBooking() {
+        Long scanned = data.booking(user, event, 3).getId();
+        Long untouched = data.booking(user, event, 2).getId();
+        List<String> codes = qrGeneratorService.generateTicketsForBooking(scanned);
+        qrGeneratorService.generateTicketsForBooking(untouched);
+        Long withoutTickets = data.booking(user, event, 1).getId();
+        jdbcTemplate.update("UPDATE tickets SET checked_in = true, checked_in_at = now() WHERE qr_code IN (?, ?)",
+                codes.get(0), codes.get(2));
+
+        List<BookingSummary> summaries = bookingRepository.findSummariesByUserId(user.getId());
+
+        assertEquals(List.of(withoutTickets, untouched, scanned), summaries.stream().map(BookingSummary::getId).toList());
+        assertEquals(0, summaries.get(0).getTicketsUsed());
+        assertFalse(summaries.get(0).isQrGenerated());
+        assertEquals(0, summaries.get(1).getTicketsUsed());
+        assertEquals(2, summaries.get(2).getTicketsUsed());
+        assertEquals(3, summaries.get(2).getTotalTickets());
+        assertTrue(summaries.get(2).isQrGenerated());
+    }
+
+    @Test
+    void userListingKeepsTheFieldNamesMyBookingsReads() {
+        data.booking(user, event, 2);
+
+        JsonNode json = objectMapper.valueToTree(bookingRepository.findSummariesByUserId(user.getId()).get(0));
+
+        assertTrue(json.get("id").isNumber());
+        assertEquals(2, json.get("totalTickets").asInt());
+        assertEquals(0, json.get("ticketsUsed").asInt());
+        assertFalse(json.get("qrGenerated").asBoolean());
+        assertEquals("Summary Night", json.get("event").get("name").asText());
+        assertEquals("2026-12-01", json.get("event").get("date").asText());
+        assertEquals(event.getId().longValue(), json.get("event").get("id").asLong());
+        assertNull(json.get("user"));
+    }
+
+    @Test
+    void adminListingAddsTheUserWithoutThePassword() {
+        Long id = data.booking(user, event, 1).getId();
+
+        BookingSummary summary = bookingRepository.findSummariesBefore(id + 1, PageRequest.of(0, 1)).get(0);
+        JsonNode json = objectMapper.valueToTree(summary);
+
+        assertEquals(id.longValue(), json.get("id").asLong());
+        assertEquals("Summary Tester", json.get("user").get("name").asText());
+        assertEquals(user.getEmail(), json.get("user").get("email").asText());
+        assertNull(json.get("user").get("password"));
+        assertEquals("Summary Night", json.get("event").get("name").asText());
+        assertTrue(json.get("qrGenerated").isBoolean());
+        assertTrue(json.get("totalTickets").isNumber());
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.backend.service;
+
+import com.example.backend.config.CacheBusConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Two application contexts in one JVM standing in for two instances. Needs a
+// Postgres (CACHE_BUS_DB_URL / _USER / _PASSWORD, defaulting to the local dev
+// database) and is skipped when there isn't one.
+class CacheInvalidationBusTest {
+
+    private static final String URL = env("CACHE_BUS_DB_URL", "jdbc:postgresql://localhost:5432/eventdb");
+    private static final String USER = env("CACHE_BUS_DB_USER", "postgres");
+    private static final String PASSWORD = env("CACHE_BUS_DB_PASSWORD", "your password");
+
+    // A channel per run, so parallel builds on one database don't hear each other
+    private final String channel = "cache_bus_test_" + System.nanoTime();
+
+    private AnnotationConfigApplicationContext nodeA;
+    private AnnotationConfigApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        assumeTrue(postgresReachable(), "No Postgres at " + URL);
+        nodeA = node();
+        nodeB = node();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void otherInstancesEvictWhatOneInstanceChanged() throws Exception {
+        BlockingQueue<Object> heardByA = subscribe(nodeA, CacheInvalidationBus.EVENTS);
+        BlockingQueue<Object> heardByB = subscribe(nodeB, CacheInvalidationBus.EVENTS);
+        BlockingQueue<Object> inventoryHeardByB = subscribe(nodeB, CacheInvalidationBus.INVENTORY);
+        awaitConnected(nodeA);
+        awaitConnected(nodeB);
+
+        bus(nodeA).publish(CacheInvalidationBus.EVENTS, 42L);
+        bus(nodeA).publish(CacheInvalidationBus.EVENTS, null);
+
+        assertEquals(42L, heardByB.poll(5, TimeUnit.SECONDS));
+        assertEquals("all", heardByB.poll(5, TimeUnit.SECONDS));
+        // The publisher already evicted locally and skips its own notifications
+        assertNull(heardByA.poll(500, TimeUnit.MILLISECONDS));
+        assertNull(inventoryHeardByB.poll(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void flushesEverythingAfterReconnecting() throws Exception {
+        BlockingQueue<Object> heardByB = subscribe(nodeB, CacheInvalidationBus.INVENTORY);
+        awaitConnected(nodeA);
+        awaitConnected(nodeB);
+
+        // Drop both listeners' connections, as a database restart or failover would
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_terminate_backend(pid) FROM pg_stat_activity " +
+                    "WHERE query = 'LISTEN \"" + channel + "\"'");
+        }
+
+        // Whatever was published while disconnected is unknown, so B flushes the topic
+        assertEquals("all", heardByB.poll(10, TimeUnit.SECONDS));
+        assertTrue((Long) bus(nodeB).getStats().get("reconnects") >= 1);
+
+        awaitConnected(nodeA);
+        awaitConnected(nodeB);
+        bus(nodeA).publish(CacheInvalidationBus.INVENTORY, 7L);
+        assertEquals(7L, heardByB.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void sendsOneSummedDeltaPerIdWhenTheTransactionCommits() throws Exception {
+        BlockingQueue<Object> eventsHeardByB = subscribe(nodeB, CacheInvalidationBus.EVENTS);
+        BlockingQueue<String> deltasHeardByB = new LinkedBlockingQueue<>();
+        bus(nodeB).subscribeDelta(CacheInvalidationBus.INVENTORY, (id, delta) -> deltasHeardByB.add(id + ":" + delta));
+        awaitConnected(nodeA);
+        awaitConnected(nodeB);
+
+        TransactionTemplate tx = new TransactionTemplate(
+                new DataSourceTransactionManager(nodeA.getBean(DataSource.class)));
+        tx.executeWithoutResult(status -> {
+            bus(nodeA).publishDelta(CacheInvalidationBus.INVENTORY, 5L, -2);
+            bus(nodeA).publishDelta(CacheInvalidationBus.INVENTORY, 6L, -1);
+            bus(nodeA).publishDelta(CacheInvalidationBus.INVENTORY, 5L, -3);
+            bus(nodeA).publishDelta(CacheInvalidationBus.INVENTORY, 6L, 1);
+            bus(nodeA).publish(CacheInvalidationBus.EVENTS, 5L);
+            bus(nodeA).publish(CacheInvalidationBus.EVENTS, 5L);
+        });
+
+        assertEquals(5L, eventsHeardByB.poll(5, TimeUnit.SECONDS));
+        assertEquals("5:-5", deltasHeardByB.poll(5, TimeUnit.SECONDS));
+        // Event 6 netted out to nothing
+        assertNull(deltasHeardByB.poll(500, TimeUnit.MILLISECONDS));
+        assertNull(eventsHeardByB.poll(0, TimeUnit.MILLISECONDS));
+
+        // Rolled back: nothing goes out
+        tx.executeWithoutResult(status -> {
+            bus(nodeA).publishDelta(CacheInvalidationBus.INVENTORY, 5L, -1);
+            status.setRollbackOnly();
+        });
+        bus(nodeA).publishDelta(CacheInvalidationBus.INVENTORY, 7L, 3);
+        assertEquals("7:3", deltasHeardByB.poll(5, TimeUnit.SECONDS));
+        assertNull(deltasHeardByB.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    private AnnotationConfigApplicationContext node() {
+        CacheBusConfig config = new CacheBusConfig();
+        config.setEnabled(true);
+        config.setChannel(channel);
+        config.setPollMillis(100);
+        config.setReconnectDelayMillis(100);
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(URL);
+        dataSource.setUsername(USER);
+        dataSource.setPassword(PASSWORD);
+        dataSource.setMaximumPoolSize(3);
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(CacheBusConfig.class, () -> config);
+        context.registerBean(DataSource.class, () -> dataSource);
+        context.registerBean(CacheInvalidationBus.class);
+        context.refresh();
+        return context;
+    }
+
+    private static CacheInvalidationBus bus(AnnotationConfigApplicationContext context) {
+        return context.getBean(CacheInvalidationBus.class);
+    }
+
+    private static BlockingQueue<Object> subscribe(AnnotationConfigApplicationContext context, String topic) {
+        BlockingQueue<Object> heard = new LinkedBlockingQueue<>();
+        bus(context).subscribe(topic, id -> heard.add(id == null ? "all" : id));
+        return heard;
+    }
+
+    private static void awaitConnected(AnnotationConfigApplicationContext context) throws InterruptedException {
+        Map<String, Object> stats = bus(context).getStats();
+        for (int i = 0; i < 100 && !Boolean.TRUE.equals(stats.get("connected")); i++) {
+            Thread.sleep(50);
+            stats = bus(context).getStats();
+        }
+        assertTrue((Boolean) stats.get("connected"), "listener did not connect");
+    }
+
+    private static boolean postgresReachable() {
+        try (Connection ignored = DriverManager.getConnection(URL, USER, PASSWORD)) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static String env(String name, String fallback) {
+        return Objects.requireNonNullElse(System.getenv(name), fallback);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ScanSyncRequest;
+import com.example.backend.entity.Events;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class CheckInStatsServiceTest {
+
+    @Autowired
+    private CheckInStatsService checkInStatsService;
+
+    @Autowired
+    private OfflineGateService offlineGateService;
+
+    @Autowired
+    private QrGeneratorService qrGeneratorService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData data;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(userRepository, eventRepository, bookingRepository, jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        data.deleteAll();
+    }
+
+    @Test
+    void minuteSlotIsResetWhenTheRingComesRound() {
+        CheckInStatsService.MinuteRing ring = new CheckInStatsService.MinuteRing();
+        ring.record(5, CheckInStatsService.Outcome.ADMITTED);
+        ring.record(5, CheckInStatsService.Outcome.ADMITTED);
+        ring.record(6, CheckInStatsService.Outcome.DUPLICATE);
+
+        // Minute 65 lands in minute 5's slot
+        ring.record(65, CheckInStatsService.Outcome.INVALID);
+
+        assertEquals(0, ring.count(5, CheckInStatsService.Outcome.ADMITTED));
+        assertEquals(0, ring.count(65, CheckInStatsService.Outcome.ADMITTED));
+        assertEquals(1, ring.count(65, CheckInStatsService.Outcome.INVALID));
+        assertEquals(1, ring.count(6, CheckInStatsService.Outcome.DUPLICATE));
+        assertEquals(0, ring.count(66, CheckInStatsService.Outcome.DUPLICATE));
+    }
+
+    @Test
+    void unknownEventsAreNotFoundAndLeaveNoEntry() {
+        long missing = Long.MAX_VALUE - 1;
+
+        ResponseStatusException snapshot = assertThrows(ResponseStatusException.class,
+                () -> checkInStatsService.getSnapshot(missing));
+        ResponseStatusException stream = assertThrows(ResponseStatusException.class,
+                () -> checkInStatsService.subscribe(missing));
+
+        assertEquals(HttpStatus.NOT_FOUND, snapshot.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, stream.getStatusCode());
+    }
+
+    @Test
+    void existingEventWithoutScansReadsAsZeros() {
+        Events event = data.event("Quiet Night", null);
+
+        Map<String, Object> snapshot = checkInStatsService.getSnapshot(event.getId());
+
+        assertEquals(Map.of("admitted", 0L, "duplicate", 0L, "invalid", 0L), snapshot.get("totals"));
+        assertEquals(15, ((List<?>) snapshot.get("perMinute")).size());
+    }
+
+    @Test
+    void countsScansPerCheckerUntilTheEventIsRemoved() {
+        Long eventId = data.event("Counted Night", null).getId();
+        checkInStatsService.record(eventId, 7L, CheckInStatsService.Outcome.ADMITTED);
+        checkInStatsService.record(eventId, 7L, CheckInStatsService.Outcome.DUPLICATE);
+        checkInStatsService.record(eventId, null, CheckInStatsService.Outcome.ADMITTED);
+
+        Map<String, Object> snapshot = checkInStatsService.getSnapshot(eventId);
+        assertEquals(Map.of("admitted", 2L, "duplicate", 1L, "invalid", 0L), snapshot.get("totals"));
+        assertEquals(1, ((List<?>) snapshot.get("checkers")).size());
+
+        checkInStatsService.remove(eventId);
+
+        Map<String, Object> after = checkInStatsService.getSnapshot(eventId);
+        assertEquals(Map.of("admitted", 0L, "duplicate", 0L, "invalid", 0L), after.get("totals"));
+    }
+
+    @Test
+    void offlineSyncsAreCounted() {
+        Events event = data.event("Synced Night", null);
+        Long bookingId = data.booking(data.user("Sync Tester"), event, 2).getId();
+        List<String> codes = qrGeneratorService.generateTicketsForBooking(bookingId);
+
+        ScanSyncRequest request = new ScanSyncRequest();
+        request.setScans(List.of(scan(codes.get(0)), scan(codes.get(0)), scan(codes.get(1))));
+        offlineGateService.syncScans(request, 9L);
+
+        Map<String, Object> snapshot = checkInStatsService.getSnapshot(event.getId());
+        assertEquals(Map.of("admitted", 2L, "duplicate", 1L, "invalid", 0L), snapshot.get("totals"));
+    }
+
+    private static ScanSyncRequest.ScanRecord scan(String qrCode) {
+        ScanSyncRequest.ScanRecord scan = new ScanSyncRequest.ScanRecord();
+        scan.setQrCode(qrCode);
+        scan.setScannedAt(LocalDateTime.of(2026, 12, 1, 19, 30));
+        return scan;
+    }
+}
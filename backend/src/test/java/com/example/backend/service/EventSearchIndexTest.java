@@ -0,0 +1,123 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Events;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventSearchIndexTest {
+
+    private static Events event(long id, String name, String artist, String location) {
+        Events event = new Events();
+        event.setId(id);
+        event.setName(name);
+        event.setArtist(artist);
+        event.setLocation(location);
+        return event;
+    }
+
+    private static List<Object> ids(List<Map<String, Object>> results) {
+        return results.stream().map(r -> r.get("id")).toList();
+    }
+
+    @Test
+    void matchesLastWordAsPrefixAndRanksNameAboveLocation() {
+        EventSearchIndex index = new EventSearchIndex();
+        index.add(event(1, "Rock Night", "The Band", "Mumbai"));
+        index.add(event(2, "Jazz Evening", "Rockwell Trio", "Pune"));
+        index.add(event(3, "Comedy Hour", "Solo", "Rockville Arena"));
+        index.add(event(4, "Classical", "Orchestra", "Delhi"));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("roc", 10)));
+        assertEquals(List.of(1L), ids(index.search("rock ni", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("roc", 2)));
+        assertTrue(index.search("opera", 10).isEmpty());
+    }
+
+    @Test
+    void foldsCaseAndAccents() {
+        EventSearchIndex index = new EventSearchIndex();
+        index.add(event(1, "Café Sessions", "Beyoncé", "Zürich"));
+
+        assertEquals(List.of(1L), ids(index.search("CAFE", 10)));
+        assertEquals(List.of(1L), ids(index.search("zur", 10)));
+        assertEquals(List.of(1L), ids(index.search("beyonce sess", 10)));
+    }
+
+    @Test
+    void removedEventsAndTheirTermsDisappear() {
+        EventSearchIndex index = new EventSearchIndex();
+        index.add(event(1, "Sunburn", "DJ A", "Goa"));
+        index.add(event(2, "Sunset Live", "DJ B", "Goa"));
+
+        index.remove(1L);
+
+        assertEquals(List.of(2L), ids(index.search("sun", 10)));
+        assertTrue(index.search("sunburn", 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void rebuildRanksLikeIncrementalAdds() {
+        String[] words = {"rock", "rocket", "jazz", "night", "live", "goa", "pune", "band"};
+        Random random = new Random(7);
+        List<Events> events = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            Events event = event(id,
+                    words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)],
+                    words[random.nextInt(words.length)],
+                    words[random.nextInt(words.length)]);
+            if (random.nextInt(4) > 0) {
+                event.setStartsAt(LocalDateTime.of(2026, 12, 1 + random.nextInt(5), 20, 0));
+            }
+            events.add(event);
+        }
+
+        EventSearchIndex incremental = new EventSearchIndex();
+        events.forEach(incremental::add);
+        EventSearchIndex rebuilt = new EventSearchIndex();
+        rebuilt.rebuild(events);
+
+        for (String query : List.of("roc", "rock", "jazz", "night li", "goa band", "p")) {
+            assertEquals(ids(incremental.search(query, 50)), ids(rebuilt.search(query, 50)), query);
+        }
+
+        // Single changes after a rebuild keep the order intact
+        rebuilt.add(event(301, "Rock Rock", "rock", "rock"));
+        incremental.add(event(301, "Rock Rock", "rock", "rock"));
+        rebuilt.remove(5L);
+        incremental.remove(5L);
+        assertEquals(ids(incremental.search("rock", 50)), ids(rebuilt.search("rock", 50)));
+    }
+
+    @Test
+    void changesDuringARebuildSurviveTheSwap() {
+        EventSearchIndex index = new EventSearchIndex();
+        index.add(event(1, "Sunburn", "DJ", "Goa"));
+        index.add(event(2, "Jazz Night", "Trio", "Pune"));
+
+        // Created and deleted after the rebuild read the table
+        index.rebuild(() -> {
+            List<Events> snapshot = List.of(event(1, "Sunburn", "DJ", "Goa"), event(2, "Jazz Night", "Trio", "Pune"));
+            index.add(event(3, "Sunset Live", "Band", "Goa"));
+            index.remove(2L);
+            return snapshot;
+        });
+
+        assertEquals(List.of(1L, 3L), ids(index.search("goa", 10)));
+        assertTrue(index.search("jazz", 10).isEmpty());
+        assertEquals(2, index.size());
+
+        // Nothing left over for the next one
+        index.rebuild(List.of(event(2, "Jazz Night", "Trio", "Pune")));
+        assertEquals(List.of(2L), ids(index.search("jazz", 10)));
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExportServiceTest {
+
+    private static String csv(String value) {
+        StringBuilder line = new StringBuilder();
+        ExportService.appendText(line, value);
+        return line.toString();
+    }
+
+    @Test
+    void quotesOnlyWhenNeeded() {
+        assertEquals("Priya Sharma", csv("Priya Sharma"));
+        assertEquals("\"Sharma, Priya\"", csv("Sharma, Priya"));
+        assertEquals("\"The \"\"Big\"\" Night\"", csv("The \"Big\" Night"));
+        assertEquals("\"two\nlines\"", csv("two\nlines"));
+        assertEquals("", csv(null));
+    }
+
+    @Test
+    void neutralisesSpreadsheetFormulas() {
+        assertEquals("\"'=HYPERLINK(\"\"x\"\")\"", csv("=HYPERLINK(\"x\")"));
+        assertEquals("\"'+1\"", csv("+1"));
+        assertEquals("\"'@SUM(A1)\"", csv("@SUM(A1)"));
+        assertEquals("\"'\t=1+1\"", csv("\t=1+1"));
+        assertEquals("\"'-2+3\"", csv("-2+3"));
+    }
+}
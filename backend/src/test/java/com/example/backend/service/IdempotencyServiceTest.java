@@ -0,0 +1,66 @@
+package com.example.backend.service;
+
+import com.example.backend.config.IdempotencyConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyServiceTest {
+
+    private final IdempotencyService service = new IdempotencyService(new IdempotencyConfig());
+
+    @Test
+    void retryWithSameKeyReplaysFirstResponse() {
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<Map<String, Object>> response = service.execute(1L, "booking", "k-1", "7:2",
+                    () -> ResponseEntity.ok(Map.of("run", runs.incrementAndGet())));
+            assertEquals(1, response.getBody().get("run"));
+        }
+        assertEquals(1, runs.get());
+
+        // Same key from another user is a different request
+        service.execute(2L, "booking", "k-1", "7:2", () -> ResponseEntity.ok(Map.of("run", runs.incrementAndGet())));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void rejectsKeyReuseForDifferentRequestAndRetriesAfterFailure() {
+        service.execute(1L, "booking", "k-1", "7:2", () -> ResponseEntity.ok(Map.of()));
+        ResponseStatusException mismatch = assertThrows(ResponseStatusException.class,
+                () -> service.execute(1L, "booking", "k-1", "7:3", () -> ResponseEntity.ok(Map.of())));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, mismatch.getStatusCode());
+
+        assertThrows(IllegalStateException.class, () -> service.execute(1L, "booking", "k-2", "7:2", () -> {
+            throw new IllegalStateException("sold out");
+        }));
+        ResponseEntity<Map<String, Object>> retried = service.execute(1L, "booking", "k-2", "7:2",
+                () -> ResponseEntity.ok(Map.of("ok", true)));
+        assertEquals(true, retried.getBody().get("ok"));
+    }
+
+    @Test
+    void knowsKeysItCanAnswerFromMemory() {
+        assertFalse(service.isKnown(1L, "booking", "k-9"));
+        assertFalse(service.isKnown(1L, "booking", null));
+
+        service.execute(1L, "booking", "k-9", "7:2", () -> ResponseEntity.ok(Map.of()));
+        assertTrue(service.isKnown(1L, "booking", "k-9"));
+        assertFalse(service.isKnown(2L, "booking", "k-9"));
+
+        // A failed run is forgotten, so its retry is limited like a new request
+        assertThrows(IllegalStateException.class, () -> service.execute(1L, "booking", "k-10", "7:2", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertFalse(service.isKnown(1L, "booking", "k-10"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryCounterTest {
+
+    @Test
+    void neverSellsMoreThanCapacity() throws Exception {
+        InventoryCounter counter = new InventoryCounter(1000, 1000, 8);
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+
+        for (int t = 0; t < 16; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    int count = 1 + (i % 3);
+                    if (counter.tryAcquire(count)) {
+                        sold.addAndGet(count);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertTrue(sold.get() <= 1000);
+        assertEquals(1000 - sold.get(), counter.getRemaining());
+    }
+
+    @Test
+    void gathersSeatsSpreadAcrossStripes() {
+        InventoryCounter counter = new InventoryCounter(64, 64, 8);
+
+        assertTrue(counter.tryAcquire(60));
+        assertEquals(4, counter.getRemaining());
+        assertFalse(counter.tryAcquire(5));
+        assertEquals(4, counter.getRemaining());
+
+        counter.release(2);
+        assertTrue(counter.tryAcquire(6));
+        assertEquals(0, counter.getRemaining());
+    }
+
+    @Test
+    void concurrentGathersDontRefuseWhileSeatsRemain() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            for (int round = 0; round < 500; round++) {
+                // 24 stripes of 8; sixteen requests of 12 all span stripes and exactly fit
+                InventoryCounter counter = new InventoryCounter(192, 192, 24);
+                AtomicInteger refused = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(16);
+                for (int t = 0; t < 16; t++) {
+                    pool.submit(() -> {
+                        start.await();
+                        if (!counter.tryAcquire(12)) {
+                            refused.incrementAndGet();
+                        }
+                        done.countDown();
+                        return null;
+                    });
+                }
+                start.countDown();
+                assertTrue(done.await(5, TimeUnit.SECONDS));
+                assertEquals(0, refused.get(), "round " + round);
+                assertEquals(0, counter.getRemaining());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void adjustsForSeatsSoldElsewhereWithoutGoingNegative() {
+        InventoryCounter counter = new InventoryCounter(64, 64, 8);
+
+        counter.adjust(-30);
+        assertEquals(34, counter.getRemaining());
+        counter.adjust(5);
+        assertEquals(39, counter.getRemaining());
+
+        // More sold elsewhere than we think is left: empty, not negative
+        counter.adjust(-50);
+        assertEquals(0, counter.getRemaining());
+        assertFalse(counter.tryAcquire(1));
+    }
+}
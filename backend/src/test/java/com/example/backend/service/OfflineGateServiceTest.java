@@ -0,0 +1,177 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ScanSyncRequest;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class OfflineGateServiceTest {
+
+    private static final LocalDateTime DOORS = LocalDateTime.of(2026, 12, 1, 19, 0);
+
+    @Autowired
+    private OfflineGateService offlineGateService;
+
+    @Autowired
+    private QrGeneratorService qrGeneratorService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData data;
+    private List<String> qrCodes;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(userRepository, eventRepository, bookingRepository, jdbcTemplate);
+        Long bookingId = data.booking(data.user("Offline Tester"), data.event("Offline Night", null), 2).getId();
+        qrCodes = qrGeneratorService.generateTicketsForBooking(bookingId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        data.deleteAll();
+    }
+
+    @Test
+    void tieInsideOneBatchGoesToTheFirstScan() {
+        String code = qrCodes.get(0);
+        Map<String, Object> response = sync(scan(code, DOORS), scan(code, DOORS.plusMinutes(1)), scan(code, DOORS));
+
+        assertEquals(1, response.get("admitted"));
+        assertEquals(2, response.get("duplicates"));
+        assertEquals(List.of("admitted", "duplicate", "duplicate"), statuses(response));
+        assertEquals(DOORS, storedCheckIn(code));
+    }
+
+    @Test
+    void earlierScanMovesTheStoredTimeBackButIsNotAdmittedAgain() {
+        String code = qrCodes.get(0);
+        assertEquals(List.of("admitted"), statuses(sync(scan(code, DOORS.plusMinutes(10)))));
+
+        // A second door saw the same code earlier: the time moves back, nobody else gets in
+        Map<String, Object> earlier = sync(scan(code, DOORS.plusMinutes(2)));
+        assertEquals(List.of("duplicate"), statuses(earlier));
+        assertEquals(1, earlier.get("duplicates"));
+        assertEquals(DOORS.plusMinutes(2), result(earlier).get("checkedInAt"));
+        assertEquals(DOORS.plusMinutes(2), storedCheckIn(code));
+
+        // Same time or later than what is stored is a duplicate and reports the stored time
+        Map<String, Object> same = sync(scan(code, DOORS.plusMinutes(2)), scan(code, DOORS.plusMinutes(5)));
+        assertEquals(List.of("duplicate", "duplicate"), statuses(same));
+        assertEquals(DOORS.plusMinutes(2), result(same).get("checkedInAt"));
+        assertEquals(DOORS.plusMinutes(2), storedCheckIn(code));
+    }
+
+    @Test
+    void checkedInWithoutTimestampIsADuplicate() {
+        String code = qrCodes.get(1);
+        jdbcTemplate.update("UPDATE tickets SET checked_in = true, checked_in_at = NULL WHERE qr_code = ?", code);
+
+        Map<String, Object> response = sync(scan(code, DOORS));
+
+        assertEquals(List.of("duplicate"), statuses(response));
+        assertEquals(1, response.get("duplicates"));
+    }
+
+    @Test
+    void unknownAndMissingCodesAreInvalid() {
+        Map<String, Object> response = sync(scan("no-such-code", DOORS), scan(null, DOORS), scan(qrCodes.get(1), null));
+
+        assertEquals(List.of("invalid", "invalid", "admitted"), statuses(response));
+        assertEquals(2, response.get("invalid"));
+        assertEquals(1, response.get("admitted"));
+    }
+
+    @Test
+    void onlineAdmissionIsNotCountedAgainByAnOfflineScan() {
+        String code = qrCodes.get(1);
+        jdbcTemplate.update("UPDATE tickets SET checked_in = true, checked_in_at = ? WHERE qr_code = ?",
+                DOORS.plusMinutes(30), code);
+
+        Map<String, Object> response = sync(scan(code, DOORS.plusMinutes(5)));
+
+        assertEquals(List.of("duplicate"), statuses(response));
+        assertEquals(0, response.get("admitted"));
+        assertEquals(DOORS.plusMinutes(5), storedCheckIn(code));
+    }
+
+    @Test
+    void oversizedSyncIsRejected() {
+        ScanSyncRequest request = new ScanSyncRequest();
+        request.setScans(Collections.nCopies(TicketService.MAX_BATCH_SIZE + 1, scan(qrCodes.get(0), DOORS)));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> offlineGateService.syncScans(request, null));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    @Test
+    void missingScanListIsAnEmptySync() {
+        ScanSyncRequest request = new ScanSyncRequest();
+        request.setDeviceId("gate-1");
+        request.setScans(null);
+
+        Map<String, Object> response = offlineGateService.syncScans(request, null);
+
+        assertEquals(0, response.get("admitted"));
+        assertEquals(List.of(), response.get("results"));
+    }
+
+    private Map<String, Object> sync(ScanSyncRequest.ScanRecord... scans) {
+        ScanSyncRequest request = new ScanSyncRequest();
+        request.setDeviceId("gate-1");
+        request.setScans(List.of(scans));
+        return offlineGateService.syncScans(request, null);
+    }
+
+    private static ScanSyncRequest.ScanRecord scan(String qrCode, LocalDateTime scannedAt) {
+        ScanSyncRequest.ScanRecord scan = new ScanSyncRequest.ScanRecord();
+        scan.setQrCode(qrCode);
+        scan.setScannedAt(scannedAt);
+        return scan;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> results(Map<String, Object> response) {
+        return (List<Map<String, Object>>) response.get("results");
+    }
+
+    private static Map<String, Object> result(Map<String, Object> response) {
+        return results(response).get(0);
+    }
+
+    private static List<Object> statuses(Map<String, Object> response) {
+        return results(response).stream().map(r -> r.get("status")).toList();
+    }
+
+    private LocalDateTime storedCheckIn(String qrCode) {
+        return jdbcTemplate.queryForObject("SELECT checked_in_at FROM tickets WHERE qr_code = ?", LocalDateTime.class, qrCode);
+    }
+}
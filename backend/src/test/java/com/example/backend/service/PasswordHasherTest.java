@@ -0,0 +1,76 @@
+package com.example.backend.service;
+
+import com.example.backend.config.PasswordHashingConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    private static PasswordHasher hasher(SimpleMeterRegistry registry, int threads, int queueCapacity) {
+        PasswordHashingConfig config = new PasswordHashingConfig();
+        config.setThreads(threads);
+        config.setQueueCapacity(queueCapacity);
+        PasswordHasher hasher = new PasswordHasher(config);
+        ReflectionTestUtils.setField(hasher, "passwordEncoder", new BCryptPasswordEncoder(4));
+        ReflectionTestUtils.setField(hasher, "meterRegistry", registry);
+        hasher.bindMetrics();
+        return hasher;
+    }
+
+    @Test
+    void rejectsWithServiceUnavailableOnceThreadsAndQueueAreFull() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHasher hasher = hasher(registry, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Boolean> running = hasher.submit(() -> await(release));
+            CompletableFuture<Boolean> queued = hasher.submit(() -> await(release));
+
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> hasher.submit(() -> true));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+            assertEquals(1.0, registry.get("password.hashing.rejected").counter().count());
+            assertEquals(1.0, registry.get("executor.queued").tag("name", "password-hashing").gauge().value());
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void encodesOffTheCallingThread() throws Exception {
+        PasswordHasher hasher = hasher(new SimpleMeterRegistry(), 1, 10);
+        try {
+            String hash = hasher.encode("secret").get(5, TimeUnit.SECONDS);
+            assertTrue(new BCryptPasswordEncoder().matches("secret", hash));
+            assertTrue(hasher.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS)
+                    .startsWith("password-hashing-"));
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.backend.service;
+
+import com.example.backend.config.IdempotencyConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Two services sharing the idempotency_keys table stand in for two instances
+@SpringBootTest
+class PersistedIdempotencyTest {
+
+    private static final long USER = -7001L;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE user_id = ?", USER);
+    }
+
+    private IdempotencyService instance(long pendingTimeoutSeconds) {
+        IdempotencyConfig config = new IdempotencyConfig();
+        config.setPersist(true);
+        config.setPendingTimeoutSeconds(pendingTimeoutSeconds);
+        IdempotencyService service = new IdempotencyService(config);
+        beanFactory.autowireBean(service);
+        return service;
+    }
+
+    @Test
+    void retryOnAnotherInstanceWaitsForTheFirstThenReplaysIt() {
+        IdempotencyService first = instance(60);
+        IdempotencyService second = instance(60);
+        AtomicInteger runs = new AtomicInteger();
+
+        ResponseEntity<Map<String, Object>> response = first.execute(USER, "booking", "k-1", "7:2", () -> {
+            ResponseStatusException busy = assertThrows(ResponseStatusException.class, () ->
+                    second.execute(USER, "booking", "k-1", "7:2", () -> ResponseEntity.ok(Map.of("run", runs.incrementAndGet()))));
+            assertEquals(HttpStatus.CONFLICT, busy.getStatusCode());
+            return ResponseEntity.ok(Map.of("run", runs.incrementAndGet()));
+        });
+
+        ResponseEntity<Map<String, Object>> replayed = second.execute(USER, "booking", "k-1", "7:2",
+                () -> ResponseEntity.ok(Map.of("run", runs.incrementAndGet())));
+
+        assertEquals(1, runs.get());
+        assertEquals(1, response.getBody().get("run"));
+        assertEquals(1, replayed.getBody().get("run"));
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void slowRequestThatKeepsItsHeartbeatIsNotRunTwice() {
+        IdempotencyService first = instance(1);
+        IdempotencyService second = instance(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        first.execute(USER, "booking", "k-2", "7:2", () -> {
+            runs.incrementAndGet();
+            // Past the pending timeout since the claim, but refreshed just now
+            backdate("k-2", "created_at");
+            first.heartbeat();
+
+            ResponseStatusException busy = assertThrows(ResponseStatusException.class, () ->
+                    second.execute(USER, "booking", "k-2", "7:2", () -> ResponseEntity.ok(Map.of("run", runs.incrementAndGet()))));
+            assertEquals(HttpStatus.CONFLICT, busy.getStatusCode());
+            return ResponseEntity.ok(Map.of());
+        });
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void keyLeftPendingByADeadInstanceIsTakenOver() {
+        IdempotencyService dead = instance(1);
+        IdempotencyService survivor = instance(1);
+
+        // The first instance dies mid-request: its heartbeat stops and the row stays pending
+        assertThrows(ResponseStatusException.class, () -> dead.execute(USER, "booking", "k-3", "7:2", () -> {
+            backdate("k-3", "heartbeat_at");
+            survivor.execute(USER, "booking", "k-3", "7:2", () -> ResponseEntity.ok(Map.of("by", "survivor")));
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE);
+        }));
+
+        ResponseEntity<Map<String, Object>> replayed = survivor.execute(USER, "booking", "k-3", "7:2",
+                () -> ResponseEntity.ok(Map.of("by", "again")));
+        assertEquals("survivor", replayed.getBody().get("by"));
+    }
+
+    private void backdate(String key, String column) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET " + column + " = ? WHERE user_id = ? AND idempotency_key = ?",
+                LocalDateTime.now().minusSeconds(5), USER, key);
+    }
+}
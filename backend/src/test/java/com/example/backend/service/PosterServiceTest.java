@@ -0,0 +1,102 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.PosterSize;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PosterServiceTest {
+
+    @TempDir
+    Path uploads;
+
+    private PosterService posterService() {
+        FileStorageService storage = new FileStorageService();
+        ReflectionTestUtils.setField(storage, "uploadDir", uploads.toString());
+        storage.init();
+
+        PosterService posters = new PosterService();
+        ReflectionTestUtils.setField(posters, "fileStorageService", storage);
+        posters.init();
+        return posters;
+    }
+
+    private static MockMultipartFile png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return new MockMultipartFile("image", "poster.png", "image/png", out.toByteArray());
+    }
+
+    @Test
+    void writesEachSizeOnceUnderTheContentHash() throws Exception {
+        PosterService posters = posterService();
+        FileStorageService storage = (FileStorageService) ReflectionTestUtils.getField(posters, "fileStorageService");
+
+        String first = storage.storeFile(png(2000, 1000));
+        String second = storage.storeFile(png(2000, 1000));
+        assertEquals(first, second);
+
+        PosterService.Result result = posters.render(first);
+        Path card = uploads.resolve(PosterSize.CARD.fileName(result.getHash(), "jpg"));
+        assertEquals(480, ImageIO.read(card.toFile()).getWidth());
+        assertEquals(240, ImageIO.read(card.toFile()).getHeight());
+        // Narrower than the hero size: kept at its own width rather than upscaled
+        assertEquals(1280, ImageIO.read(uploads.resolve(PosterSize.HERO.fileName(result.getHash(), "jpg")).toFile()).getWidth());
+
+        Files.setLastModifiedTime(card, FileTime.fromMillis(0));
+        posters.render(second);
+        assertEquals(0, Files.getLastModifiedTime(card).toMillis());
+    }
+
+    @Test
+    void skipsFilesThatAreNotImages() throws Exception {
+        PosterService posters = posterService();
+        FileStorageService storage = (FileStorageService) ReflectionTestUtils.getField(posters, "fileStorageService");
+
+        String url = storage.storeFile(new MockMultipartFile("image", "notes.txt", "text/plain", "hello".getBytes()));
+        assertNull(posters.render(url));
+        assertNull(posters.render("/elsewhere/poster.jpg"));
+    }
+
+    @Test
+    void refusesImagesWhoseHeaderClaimsTooManyPixels() throws Exception {
+        PosterService posters = posterService();
+        FileStorageService storage = (FileStorageService) ReflectionTestUtils.getField(posters, "fileStorageService");
+
+        // A few hundred bytes on disk, 30000 x 30000 once decoded
+        byte[] bomb = png(1, 1).getBytes();
+        ByteBuffer.wrap(bomb, 16, 8).putInt(30_000).putInt(30_000);
+        CRC32 crc = new CRC32();
+        crc.update(bomb, 12, 17);
+        ByteBuffer.wrap(bomb, 29, 4).putInt((int) crc.getValue());
+
+        String url = storage.storeFile(new MockMultipartFile("image", "bomb.png", "image/png", bomb));
+        assertNull(posters.render(url));
+        try (Stream<Path> files = Files.list(uploads)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void refusedJobsCompleteWithoutRunningOnTheCaller() throws Exception {
+        PosterService posters = posterService();
+        posters.shutdown();
+
+        assertNull(posters.generate("/uploads/events/poster.png").get(1, TimeUnit.SECONDS));
+    }
+}
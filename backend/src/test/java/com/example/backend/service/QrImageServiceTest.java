@@ -0,0 +1,58 @@
+package com.example.backend.service;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QrImageServiceTest {
+
+    @Test
+    void pngDecodesBackToContent() throws Exception {
+        QrImageService service = new QrImageService(1 << 20);
+        QrImageService.Image image = service.render("NBUA0BF0IB0IDSN+7J350ND", QrImageService.Format.PNG, 300);
+
+        BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(
+                new BufferedImageLuminanceSource(ImageIO.read(new ByteArrayInputStream(image.getBytes())))));
+        assertEquals("NBUA0BF0IB0IDSN+7J350ND", new QRCodeReader().decode(bitmap).getText());
+        assertEquals("image/png", image.getContentType());
+    }
+
+    @Test
+    void servesRepeatsFromCacheWithStableEtag() {
+        QrImageService service = new QrImageService(1 << 20);
+        QrImageService.Image first = service.render("ticket-1", QrImageService.Format.SVG, 200);
+        QrImageService.Image second = service.render("ticket-1", QrImageService.Format.SVG, 200);
+        QrImageService.Image other = service.render("ticket-2", QrImageService.Format.SVG, 200);
+
+        assertSame(first, second);
+        assertNotEquals(first.getEtag(), other.getEtag());
+        assertEquals(1L, service.getCacheStats().get("hits"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOnceOverBudget() {
+        QrImageService probe = new QrImageService(1 << 20);
+        int imageBytes = probe.render("ticket-0", QrImageService.Format.SVG, 200).getBytes().length;
+
+        // Room for roughly three images
+        QrImageService service = new QrImageService(imageBytes * 3L + imageBytes / 2);
+        for (int i = 0; i < 10; i++) {
+            service.render("ticket-" + i, QrImageService.Format.SVG, 200);
+        }
+
+        Map<String, Object> stats = service.getCacheStats();
+        assertTrue((Long) stats.get("bytes") <= (Long) stats.get("maxBytes"));
+        assertTrue((Long) stats.get("evictions") > 0);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QrPayloadCodecTest {
+
+    private final QrPayloadCodec codec = new QrPayloadCodec("test_signing_key_test_signing_key_1234");
+
+    @Test
+    void roundTripsIdsAndTicketNumber() {
+        String code = codec.encode(9_876_543L, 42L, 17);
+
+        assertTrue(code.startsWith(QrPayloadCodec.PREFIX));
+        assertTrue(code.length() < 32, code);
+        assertEquals(QrPayloadCodec.Verdict.VALID, codec.check(code));
+
+        QrPayloadCodec.Payload payload = codec.decode(code);
+        assertNotNull(payload);
+        assertEquals(9_876_543L, payload.getBookingId());
+        assertEquals(42L, payload.getEventId());
+        assertEquals(17, payload.getTicketNumber());
+    }
+
+    @Test
+    void rejectsEverySingleCharacterTypo() {
+        String code = codec.encode(1001L, 7L, 3);
+        String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:";
+
+        for (int i = QrPayloadCodec.PREFIX.length(); i < code.length(); i++) {
+            for (char c : alphabet.toCharArray()) {
+                if (c == code.charAt(i)) {
+                    continue;
+                }
+                String typo = code.substring(0, i) + c + code.substring(i + 1);
+                assertEquals(QrPayloadCodec.Verdict.INVALID, codec.check(typo), typo);
+            }
+        }
+    }
+
+    @Test
+    void rejectsCodesSignedWithAnotherKey() {
+        QrPayloadCodec other = new QrPayloadCodec("another_key_another_key_another_key_12");
+        assertNull(codec.decode(other.encode(1001L, 7L, 3)));
+    }
+
+    @Test
+    void fallbackKeyIsDerivedNotTheJwtSecretItself() {
+        String jwtSecret = "jwt_secret_jwt_secret_jwt_secret_1234";
+        QrPayloadCodec derived = new QrPayloadCodec("", jwtSecret);
+
+        assertNull(new QrPayloadCodec(jwtSecret).decode(derived.encode(1001L, 7L, 3)));
+        assertEquals(3, new QrPayloadCodec("", jwtSecret).decode(derived.encode(1001L, 7L, 3)).getTicketNumber());
+        // An explicit key is used as given
+        assertEquals(3, codec.decode(new QrPayloadCodec("test_signing_key_test_signing_key_1234", jwtSecret)
+                .encode(1001L, 7L, 3)).getTicketNumber());
+    }
+
+    @Test
+    void classifiesLegacyAndGarbage() {
+        assertEquals(QrPayloadCodec.Verdict.LEGACY,
+                codec.check("12|3|1|Priya|0f8fad5b-d9cb-469f-a165-70867728950e"));
+        assertEquals(QrPayloadCodec.Verdict.INVALID, codec.check("hello"));
+        assertEquals(QrPayloadCodec.Verdict.INVALID, codec.check(""));
+        assertEquals(QrPayloadCodec.Verdict.INVALID, codec.check(null));
+        assertEquals(QrPayloadCodec.Verdict.INVALID, codec.check("NB"));
+    }
+}
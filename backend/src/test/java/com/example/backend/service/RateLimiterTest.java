@@ -0,0 +1,126 @@
+package com.example.backend.service;
+
+import com.example.backend.config.RateLimitConfig;
+import com.example.backend.exception.RateLimitedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateLimiterTest {
+
+    private static RateLimiter limiter(RateLimitConfig.KeyType key) {
+        RateLimitConfig.Rule rule = new RateLimitConfig.Rule();
+        rule.setPath("/api/booking");
+        rule.setKey(key);
+        rule.setCapacity(3);
+        rule.setRefillPerSecond(0.1);
+
+        RateLimitConfig config = new RateLimitConfig();
+        config.getRules().put("booking", rule);
+        return new RateLimiter(config);
+    }
+
+    private static MockHttpServletRequest booking(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/booking");
+        request.setAttribute("userId", userId);
+        return request;
+    }
+
+    @Test
+    void allowsBurstThenRejectsWithRetryAfter() {
+        RateLimiter limiter = limiter(RateLimitConfig.KeyType.USER);
+        for (int i = 0; i < 3; i++) {
+            assertDoesNotThrow(() -> limiter.checkRequest(booking(1L)));
+        }
+        RateLimitedException rejected = assertThrows(RateLimitedException.class, () -> limiter.checkRequest(booking(1L)));
+        assertEquals(10, rejected.getRetryAfterSeconds());
+
+        // Other users and other routes keep their own buckets
+        assertDoesNotThrow(() -> limiter.checkRequest(booking(2L)));
+        assertDoesNotThrow(() -> limiter.checkRequest(new MockHttpServletRequest("GET", "/api/booking")));
+    }
+
+    @Test
+    void eventRulesOnlyApplyThroughCheckEvent() {
+        RateLimiter limiter = limiter(RateLimitConfig.KeyType.EVENT);
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> limiter.checkRequest(booking(1L)));
+        }
+        for (long user = 1; user <= 3; user++) {
+            long u = user;
+            assertDoesNotThrow(() -> limiter.checkEvent(booking(u), 7L));
+        }
+        assertThrows(RateLimitedException.class, () -> limiter.checkEvent(booking(4L), 7L));
+        assertDoesNotThrow(() -> limiter.checkEvent(booking(4L), 8L));
+    }
+
+    @Test
+    void rejectsRulesThatCouldNeverRefill() {
+        for (double refill : new double[]{0, -1, Double.NaN}) {
+            RateLimitConfig config = new RateLimitConfig();
+            RateLimitConfig.Rule rule = new RateLimitConfig.Rule();
+            rule.setPath("/api/booking");
+            rule.setRefillPerSecond(refill);
+            config.getRules().put("booking", rule);
+            assertThrows(IllegalStateException.class, config::validate);
+        }
+
+        RateLimitConfig config = new RateLimitConfig();
+        RateLimitConfig.Rule rule = new RateLimitConfig.Rule();
+        rule.setPath("/api/booking");
+        rule.setCapacity(0);
+        config.getRules().put("booking", rule);
+        assertThrows(IllegalStateException.class, config::validate);
+    }
+
+    @Test
+    void keyFloodKeepsExistingBucketsAndSharesOneForNewcomers() {
+        RateLimitConfig.Rule rule = new RateLimitConfig.Rule();
+        rule.setPath("/api/booking");
+        rule.setCapacity(1);
+        rule.setRefillPerSecond(0.1);
+        RateLimitConfig config = new RateLimitConfig();
+        config.setMaxKeysPerRule(2);
+        config.getRules().put("booking", rule);
+        RateLimiter limiter = new RateLimiter(config);
+
+        assertDoesNotThrow(() -> limiter.checkRequest(booking(1L)));
+        assertDoesNotThrow(() -> limiter.checkRequest(booking(2L)));
+
+        // At the cap nothing is full yet, so users 3 and 4 share a single token
+        assertDoesNotThrow(() -> limiter.checkRequest(booking(3L)));
+        assertThrows(RateLimitedException.class, () -> limiter.checkRequest(booking(4L)));
+
+        // User 1 was not forgotten
+        assertThrows(RateLimitedException.class, () -> limiter.checkRequest(booking(1L)));
+        assertEquals(2L, ((Map<?, ?>) limiter.getStats().get("booking")).get("overflowed"));
+    }
+
+    @Test
+    void keyFloodSweepsFullBucketsBeforeSharing() throws Exception {
+        RateLimitConfig.Rule rule = new RateLimitConfig.Rule();
+        rule.setPath("/api/booking");
+        rule.setCapacity(1);
+        rule.setRefillPerSecond(1000);
+        RateLimitConfig config = new RateLimitConfig();
+        config.setMaxKeysPerRule(2);
+        config.getRules().put("booking", rule);
+        RateLimiter limiter = new RateLimiter(config);
+
+        limiter.checkRequest(booking(1L));
+        limiter.checkRequest(booking(2L));
+        Thread.sleep(20);
+
+        limiter.checkRequest(booking(3L));
+        limiter.checkRequest(booking(4L));
+
+        Map<?, ?> stats = (Map<?, ?>) limiter.getStats().get("booking");
+        assertEquals(0L, stats.get("overflowed"));
+        assertEquals(2, stats.get("trackedKeys"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StaticUploadServiceTest {
+
+    @Test
+    void parsesSingleByteRanges() {
+        assertArrayEquals(new long[] {0, 100}, StaticUploadService.parseRange("bytes=0-99", 1000));
+        assertArrayEquals(new long[] {900, 1000}, StaticUploadService.parseRange("bytes=900-", 1000));
+        assertArrayEquals(new long[] {800, 1000}, StaticUploadService.parseRange("bytes=-200", 1000));
+        assertArrayEquals(new long[] {500, 1000}, StaticUploadService.parseRange("bytes=500-5000", 1000));
+        assertSame(StaticUploadService.UNSATISFIABLE, StaticUploadService.parseRange("bytes=1000-", 1000));
+        // Unsupported or malformed ranges fall back to the whole file
+        assertNull(StaticUploadService.parseRange("bytes=0-1,5-9", 1000));
+        assertNull(StaticUploadService.parseRange("bytes=abc", 1000));
+        assertNull(StaticUploadService.parseRange("items=0-9", 1000));
+    }
+
+    @Test
+    void answersConditionalRequests() {
+        long modified = 1_700_000_000_000L;
+        String etag = StaticUploadService.etag(4096, modified);
+
+        MockHttpServletRequest same = new MockHttpServletRequest();
+        same.addHeader("If-None-Match", "W/" + etag);
+        assertTrue(StaticUploadService.notModified(same, etag, modified));
+
+        MockHttpServletRequest changed = new MockHttpServletRequest();
+        changed.addHeader("If-None-Match", StaticUploadService.etag(4097, modified));
+        // If-None-Match takes precedence over a matching If-Modified-Since
+        changed.addHeader("If-Modified-Since", "Tue, 14 Nov 2023 22:13:20 GMT");
+        assertFalse(StaticUploadService.notModified(changed, etag, modified));
+
+        MockHttpServletRequest since = new MockHttpServletRequest();
+        since.addHeader("If-Modified-Since", "Tue, 14 Nov 2023 22:13:20 GMT");
+        assertTrue(StaticUploadService.notModified(since, etag, modified));
+
+        MockHttpServletRequest staleRange = new MockHttpServletRequest();
+        staleRange.addHeader("Range", "bytes=0-9");
+        staleRange.addHeader("If-Range", "\"old\"");
+        assertFalse(StaticUploadService.rangeApplies(staleRange, etag, modified));
+    }
+}
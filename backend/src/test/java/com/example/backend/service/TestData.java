@@ -0,0 +1,88 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Bookings;
+import com.example.backend.entity.Events;
+import com.example.backend.entity.Role;
+import com.example.backend.entity.User;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Rows for tests that run against the dev database. Everything created through
+// here is remembered and removed again by deleteAll(), so repeated runs don't
+// pile up users, events and bookings.
+class TestData {
+
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final NamedParameterJdbcTemplate jdbc;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> eventIds = new ArrayList<>();
+
+    TestData(UserRepository userRepository, EventRepository eventRepository,
+             BookingRepository bookingRepository, JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name.toLowerCase().replace(' ', '-') + "-" + System.nanoTime() + "@test.local");
+        user.setPassword("x");
+        user.setRole(Role.USER);
+        userRepository.save(user);
+        userIds.add(user.getId());
+        return user;
+    }
+
+    // capacity null means unlimited
+    Events event(String name, Integer capacity) {
+        Events event = new Events();
+        event.setName(name);
+        event.setDate("2026-12-01");
+        event.setTime("20:00");
+        event.setStartsAt(EventService.parseStartsAt("2026-12-01", "20:00"));
+        event.setCapacity(capacity);
+        event.setRemaining(capacity);
+        eventRepository.save(event);
+        eventIds.add(event.getId());
+        return event;
+    }
+
+    Bookings booking(User user, Events event, int tickets) {
+        Bookings booking = new Bookings();
+        booking.setUser(user);
+        booking.setEvent(event);
+        booking.setTotalTickets(tickets);
+        return bookingRepository.save(booking);
+    }
+
+    // Also removes rows the code under test created for these users and events
+    void deleteAll() {
+        if (userIds.isEmpty() && eventIds.isEmpty()) {
+            return;
+        }
+        Map<String, Object> ids = Map.of(
+                "users", userIds.isEmpty() ? List.of(-1L) : userIds,
+                "events", eventIds.isEmpty() ? List.of(-1L) : eventIds);
+        String bookings = "SELECT id FROM bookings WHERE user_id IN (:users) OR event_id IN (:events)";
+        jdbc.update("DELETE FROM tickets WHERE event_id IN (:events) OR booking_id IN (" + bookings + ")", ids);
+        jdbc.update("DELETE FROM bookings WHERE user_id IN (:users) OR event_id IN (:events)", ids);
+        jdbc.update("DELETE FROM idempotency_keys WHERE user_id IN (:users)", ids);
+        jdbc.update("DELETE FROM events WHERE id IN (:events)", ids);
+        jdbc.update("DELETE FROM users WHERE id IN (:users)", ids);
+        userIds.clear();
+        eventIds.clear();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Events;
+import com.example.backend.entity.User;
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class TicketBatchValidationTest {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private QrGeneratorService qrGeneratorService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData data;
+    private Events event;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(userRepository, eventRepository, bookingRepository, jdbcTemplate);
+        event = data.event("Batch Night", null);
+        user = data.user("Batch Tester");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        data.deleteAll();
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        List<String> tooMany = Collections.nCopies(TicketService.MAX_BATCH_SIZE + 1, "x");
+
+        ResponseStatusException oversized = assertThrows(ResponseStatusException.class,
+                () -> ticketService.validateBatch(tooMany));
+        ResponseStatusException empty = assertThrows(ResponseStatusException.class,
+                () -> ticketService.validateBatch(List.of()));
+
+        assertEquals(HttpStatus.BAD_REQUEST, oversized.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, empty.getStatusCode());
+    }
+
+    @Test
+    void acceptsAFullBatch() {
+        List<String> codes = new ArrayList<>(Collections.nCopies(TicketService.MAX_BATCH_SIZE - 1, "forged"));
+        codes.add(0, tickets(1).get(0));
+
+        Map<String, Object> response = ticketService.validateBatch(codes);
+
+        assertEquals(1, response.get("admitted"));
+        assertEquals(TicketService.MAX_BATCH_SIZE - 1, response.get("rejected"));
+        assertEquals(TicketService.MAX_BATCH_SIZE, results(response).size());
+    }
+
+    @Test
+    void repeatedCodeInOneBatchIsAdmittedOnce() {
+        List<String> codes = tickets(2);
+
+        Map<String, Object> response = ticketService.validateBatch(List.of(codes.get(0), codes.get(0), codes.get(1)));
+
+        assertEquals(2, response.get("admitted"));
+        assertEquals(1, response.get("rejected"));
+        List<Map<String, Object>> results = results(response);
+        assertEquals("success", results.get(0).get("status"));
+        assertEquals("error", results.get(1).get("status"));
+        assertEquals("Ticket already used", results.get(1).get("message"));
+        assertEquals("success", results.get(2).get("status"));
+
+        // A later batch sees the ticket as used
+        Map<String, Object> again = ticketService.validateBatch(List.of(codes.get(0)));
+        assertEquals(0, again.get("admitted"));
+        assertEquals("Ticket already used", results(again).get(0).get("message"));
+    }
+
+    @Test
+    void countsAreReportedPerBooking() {
+        List<String> first = tickets(3);
+        List<String> second = tickets(2);
+
+        Map<String, Object> response = ticketService.validateBatch(List.of(first.get(0), second.get(0), first.get(1)));
+
+        List<Map<String, Object>> results = results(response);
+        assertEquals(3, response.get("admitted"));
+        assertEquals(2L, results.get(0).get("scannedTickets"));
+        assertEquals(3L, results.get(0).get("totalTickets"));
+        assertEquals(1L, results.get(1).get("scannedTickets"));
+        assertEquals(2L, results.get(1).get("totalTickets"));
+        assertEquals(2L, results.get(2).get("scannedTickets"));
+        assertEquals(results.get(0).get("bookingId"), results.get(2).get("bookingId"));
+    }
+
+    private List<String> tickets(int count) {
+        Long bookingId = data.booking(user, event, count).getId();
+        return qrGeneratorService.generateTicketsForBooking(bookingId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> results(Map<String, Object> response) {
+        return (List<Map<String, Object>>) response.get("results");
+    }
+}
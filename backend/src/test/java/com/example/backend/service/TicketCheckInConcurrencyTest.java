@@ -0,0 +1,101 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.BookingRepository;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.TicketRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TicketCheckInConcurrencyTest {
+
+    private static final int GATES = 32;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private QrGeneratorService qrGeneratorService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData data;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(userRepository, eventRepository, bookingRepository, jdbcTemplate);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        data.deleteAll();
+    }
+
+    @Test
+    void sameQrScannedAtManyGatesIsAdmittedOnce() throws Exception {
+        List<String> qrCodes = qrGeneratorService.generateTicketsForBooking(newBooking(2));
+        String qrCode = qrCodes.get(0);
+
+        ExecutorService pool = Executors.newFixedThreadPool(GATES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Map<String, Object>>> scans = new ArrayList<>();
+        for (int i = 0; i < GATES; i++) {
+            scans.add(pool.submit(() -> {
+                start.await();
+                return ticketService.validateTicket(qrCode);
+            }));
+        }
+        start.countDown();
+
+        int admitted = 0;
+        for (Future<Map<String, Object>> scan : scans) {
+            Map<String, Object> result = scan.get();
+            if ("success".equals(result.get("status"))) {
+                admitted++;
+                assertEquals(1L, result.get("scannedTickets"));
+                assertEquals(2L, result.get("totalTickets"));
+            } else {
+                assertEquals("Ticket already used", result.get("message"));
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, admitted);
+        assertTrue(ticketRepository.findByQrCode(qrCode).orElseThrow().isCheckedIn());
+        assertEquals(1L, ticketRepository.countScannedTicketsByBookingId(
+                ticketRepository.findByQrCode(qrCode).orElseThrow().getBooking().getId()));
+    }
+
+    private Long newBooking(int tickets) {
+        return data.booking(data.user("Gate Tester"), data.event("Concurrency Night", null), tickets).getId();
+    }
+}
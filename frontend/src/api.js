@@ -53,12 +53,29 @@ export const register = (data) => API.post("/auth/register", data);
 export const fetchEvents = () => API.get("/events");
 export const fetchPaginatedEvents = (page) => API.get(`/events/page/${page}`);
 export const fetchEventById = (id) => API.get(`/events/${id}`);
+export const searchEvents = (q, limit = 10) => API.get("/events/search", { params: { q, limit } });
 export const createEvent = (formData) => API.post("/admin/events", formData);
 export const deleteEvent = (id) => API.delete(`/admin/events/${id}`);
 
 // =================== BOOKINGS APIS ===================
-export const bookEvent = (eventId, totalTickets) =>
-    API.post("/booking", { eventId, totalTickets });
+// Events in queue mode answer 202 with a token; wait for the queued booking to finish
+export const bookEvent = async (eventId, totalTickets) => {
+    const response = await API.post("/booking", { eventId, totalTickets });
+    if (response.status !== 202) return response;
+
+    for (;;) {
+        const { data } = await API.get(`/booking/queue/${response.data.token}`, {
+            params: { wait: 20 },
+            timeout: 30000,
+        });
+        if (data.status === "CONFIRMED") return { ...response, data };
+        if (data.status === "REJECTED") {
+            const error = new Error(data.message);
+            error.response = { status: data.httpStatus, data };
+            throw error;
+        }
+    }
+};
 
 export const fetchUserBookings = () => API.get("/booking/mybookings");
 export const deleteBooking = (bookingId) => API.delete(`/booking/${bookingId}`);
@@ -77,12 +77,16 @@ export default function UserPage({ logout }) {
     if (state.failedImages.has(event.id)) return DEFAULT_IMAGE;
     if (!event.imageUrl) return DEFAULT_IMAGE;
 
+    // Resized copy when the backend has made one, otherwise the original upload
+    const poster = event.images?.card;
+    const imageUrl = poster?.webp ?? poster?.jpeg ?? event.imageUrl;
+
     try {
-      if (event.imageUrl.startsWith("http")) return event.imageUrl;
-      if (event.imageUrl.startsWith("/")) {
-        return `${BACKEND_URL}${event.imageUrl}`;
+      if (imageUrl.startsWith("http")) return imageUrl;
+      if (imageUrl.startsWith("/")) {
+        return `${BACKEND_URL}${imageUrl}`;
       }
-      return `${BACKEND_URL}/uploads/events/${event.imageUrl}`;
+      return `${BACKEND_URL}/uploads/events/${imageUrl}`;
     } catch {
       return DEFAULT_IMAGE;
     }